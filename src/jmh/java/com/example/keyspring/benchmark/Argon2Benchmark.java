@@ -0,0 +1,47 @@
+package com.example.keyspring.benchmark;
+
+import com.example.keyspring.security.Argon2Settings;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for Argon2 encode and verify with the default parameters.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class Argon2Benchmark {
+
+    private final String password = "Sup3r-Secret!Pass";
+    private Argon2PasswordEncoder encoder;
+    private String hash;
+
+    @Setup
+    public void setUp() {
+        encoder = Argon2Settings.SPRING_SECURITY_V5_8.toEncoder();
+        hash = encoder.encode(password);
+    }
+
+    @Benchmark
+    public String encode() {
+        return encoder.encode(password);
+    }
+
+    @Benchmark
+    public boolean matches() {
+        return encoder.matches(password, hash);
+    }
+}
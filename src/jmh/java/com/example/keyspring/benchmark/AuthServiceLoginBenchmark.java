@@ -0,0 +1,115 @@
+package com.example.keyspring.benchmark;
+
+import com.example.keyspring.model.request.LoginRequest;
+import com.example.keyspring.model.response.Response;
+import com.example.keyspring.model.view.LoginCredentialView;
+import com.example.keyspring.repository.RefreshTokenRepository;
+import com.example.keyspring.repository.RevokedTokenRepository;
+import com.example.keyspring.repository.UserRepository;
+import com.example.keyspring.security.Argon2Settings;
+import com.example.keyspring.security.JweTokenService;
+import com.example.keyspring.security.LoginAttemptTracker;
+import com.example.keyspring.security.PasswordHashingExecutor;
+import com.example.keyspring.security.RefreshTokenService;
+import com.example.keyspring.security.SigningKeyStore;
+import com.example.keyspring.security.TokenRevocationService;
+import com.example.keyspring.service.AuthMetrics;
+import com.example.keyspring.service.AuthService;
+import com.example.keyspring.service.LastLoginRecorder;
+import com.example.keyspring.service.RegisteredEmailFilter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * End-to-end benchmark of {@link AuthService#login(LoginRequest)} against a mocked {@link UserRepository},
+ * so the numbers cover validation, Argon2 verification and token signing without database latency.
+ * Metrics are recorded with histograms enabled, so the cost of instrumentation is included.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AuthServiceLoginBenchmark {
+
+    private static final String EMAIL = "jane.doe@example.com";
+    private static final String PASSWORD = "Sup3r-Secret!Pass";
+
+    private PasswordHashingExecutor hashingExecutor;
+    private AuthService authService;
+    private LoginRequest validLogin;
+    private LoginRequest unknownUserLogin;
+    private LoginRequest malformedLogin;
+
+    @Setup
+    public void setUp() {
+        Argon2Settings settings = Argon2Settings.SPRING_SECURITY_V5_8;
+        Argon2PasswordEncoder encoder = settings.toEncoder();
+
+        LoginCredentialView user = new LoginCredentialView(
+                1L, "ksl0000000001", EMAIL, "Jane", "Doe", encoder.encode(PASSWORD), "user", 0, null);
+
+        UserRepository userRepository = mock(UserRepository.class);
+        when(userRepository.findLoginCredentialsByEmail(anyString())).thenReturn(Optional.empty());
+        when(userRepository.findLoginCredentialsByEmail(EMAIL)).thenReturn(Optional.of(user));
+
+        hashingExecutor = new PasswordHashingExecutor(0, 0, 10_000, 1);
+        authService = new AuthService(
+                userRepository,
+                new JweTokenService(new SigningKeyStore("", ""), JweTokenBenchmark.SECRET, "legacy"),
+                hashingExecutor,
+                encoder,
+                settings,
+                new TokenRevocationService(mock(RevokedTokenRepository.class), 1000, 0.001),
+                new RefreshTokenService(mock(RefreshTokenRepository.class), 1_209_600),
+                new LoginAttemptTracker(userRepository, 5, 900),
+                new LastLoginRecorder(userRepository, 500, 30_000, 60_000),
+                new RegisteredEmailFilter(userRepository, false, 1000, 0.01),
+                new AuthMetrics(new SimpleMeterRegistry(), true),
+                Runnable::run,
+                900,
+                10_000);
+
+        validLogin = new LoginRequest(EMAIL, PASSWORD);
+        unknownUserLogin = new LoginRequest("nobody@example.com", PASSWORD);
+        malformedLogin = new LoginRequest("not-an-email", PASSWORD);
+    }
+
+    @TearDown
+    public void tearDown() {
+        hashingExecutor.shutdown();
+    }
+
+    @Benchmark
+    public Response loginSuccess() {
+        return authService.login(validLogin);
+    }
+
+    @Benchmark
+    public Response loginUnknownUser() {
+        return authService.login(unknownUserLogin);
+    }
+
+    @Benchmark
+    public Response loginMalformedEmail() {
+        return authService.login(malformedLogin);
+    }
+}
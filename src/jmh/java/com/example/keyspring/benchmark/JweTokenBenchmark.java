@@ -0,0 +1,66 @@
+package com.example.keyspring.benchmark;
+
+import com.example.keyspring.model.claim.UserClaim;
+import com.example.keyspring.security.JweTokenService;
+import com.example.keyspring.security.SigningKeyStore;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for issuing and verifying ES256 access tokens with an ephemeral key, per claim profile.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JweTokenBenchmark {
+
+    static final String SECRET = "benchmark-secret-key-that-is-long-enough-for-hs256";
+
+    @Param({"legacy", "minimal", "standard", "full"})
+    private String claimProfile;
+
+    private JweTokenService jweTokenService;
+    private UserClaim userClaim;
+    private Date issuedAt;
+    private Date expiresAt;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jweTokenService = new JweTokenService(new SigningKeyStore("", ""), SECRET, claimProfile);
+        userClaim = new UserClaim("ksl0000000001", "jane.doe@example.com", "Jane", "Doe");
+        issuedAt = Date.from(Instant.now());
+        expiresAt = Date.from(Instant.now().plusSeconds(3600));
+        token = jweTokenService.createJweToken(userClaim, userClaim.getUniqueId(), "user", issuedAt, expiresAt);
+    }
+
+    @Benchmark
+    public String createJweToken() {
+        return jweTokenService.createJweToken(userClaim, userClaim.getUniqueId(), "user", issuedAt, expiresAt);
+    }
+
+    @Benchmark
+    public Object readJWE() {
+        return jweTokenService.readJWE(token);
+    }
+
+    @Benchmark
+    public Object extractSubject() {
+        return jweTokenService.extractSubject(token);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.keyspring.benchmark;
+
+import com.example.keyspring.model.User;
+import com.example.keyspring.util.ValidationUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the input validation performed on every register and login request.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ValidationBenchmark {
+
+    private final String strongPassword = "Sup3r-Secret!Pass";
+    private final String weakPassword = "supersecretpass1";
+    private final String validEmail = "jane.doe+keyspring@mail.example.com";
+    private final String invalidEmail = "jane.doe@localhost";
+    private final User user = new User(validEmail, strongPassword, "Jane", "Doe");
+
+    @Benchmark
+    public Object validatePasswordStrengthValid() {
+        return ValidationUtils.validatePasswordStrength(strongPassword);
+    }
+
+    @Benchmark
+    public Object validatePasswordStrengthInvalid() {
+        return ValidationUtils.validatePasswordStrength(weakPassword);
+    }
+
+    @Benchmark
+    public Object validateUser() {
+        return ValidationUtils.validateUser(user);
+    }
+
+    @Benchmark
+    public boolean isValidEmailFormatValid() {
+        return ValidationUtils.isValidEmailFormat(validEmail);
+    }
+
+    @Benchmark
+    public boolean isValidEmailFormatInvalid() {
+        return ValidationUtils.isValidEmailFormat(invalidEmail);
+    }
+}
@@ -0,0 +1,263 @@
+package com.example.keyspring.loadtest;
+
+import com.example.keyspring.KeyspringApplication;
+import com.example.keyspring.service.AuthService;
+import com.example.keyspring.service.RegisteredEmailFilter;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Measures the sustained login and registration throughput of a single node against a real database.
+ * <p>
+ * The application is booted in this JVM against an embedded Postgres started from bundled binaries,
+ * so the test runs offline. {@code loadTest.users} users are seeded with one {@code INSERT ... SELECT}
+ * sharing a single password hash made with the configured Argon2 parameters, so every login still
+ * pays for a full verification. Logins of random seeded users and registrations of new users are
+ * then sent concurrently by {@link OpenModelDriver}s at fixed rates.
+ * </p>
+ * Each scenario's latency distribution is written to {@code <scenario>.hgrm} in the report directory,
+ * and a summary to {@code summary.txt}. Options are read from system properties, which the
+ * {@code loadTest} Gradle task fills from {@code -PloadTest.<name>=<value>}:
+ * <ul>
+ *     <li>{@code loadTest.users} - number of seeded users (default 10000).</li>
+ *     <li>{@code loadTest.loginRate} - logins per second (default 50), 0 to skip.</li>
+ *     <li>{@code loadTest.registerRate} - registrations per second (default 10), 0 to skip.</li>
+ *     <li>{@code loadTest.warmupSeconds} - seconds of unrecorded load before measuring (default 15).</li>
+ *     <li>{@code loadTest.durationSeconds} - seconds of measured load (default 60).</li>
+ *     <li>{@code loadTest.maxInFlight} - requests per scenario allowed to wait for a response (default 1000).</li>
+ *     <li>{@code loadTest.seed} - seed choosing which users log in (default 42).</li>
+ *     <li>{@code loadTest.maxP99Ms} - fails the run if any scenario's p99 latency is higher.</li>
+ *     <li>{@code loadTest.maxErrorRate} - fails the run if any scenario's error rate is higher, e.g. 0.01.</li>
+ *     <li>{@code loadTest.app.<property>} - passed to the application as {@code --<property>}.</li>
+ * </ul>
+ * The load generator shares the machine with the application and the database, so results are
+ * comparable between runs on the same machine rather than absolute capacity figures.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+public final class LoadTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadTest.class);
+    private static final String PASSWORD = "L0ad-Test!Pass";
+    private static final String APP_PREFIX = "loadTest.app.";
+    private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    private LoadTest() {
+    }
+
+    /**
+     * Runs the load test and exits with status 1 if a gate was missed.
+     *
+     * @param args ignored, options are read from system properties.
+     * @throws Exception if the database or the application cannot be started.
+     */
+    public static void main(String[] args) throws Exception {
+        int users = Integer.getInteger("loadTest.users", 10_000);
+        double loginRate = doubleProperty("loadTest.loginRate", 50);
+        double registerRate = doubleProperty("loadTest.registerRate", 10);
+        Duration warmup = Duration.ofSeconds(Integer.getInteger("loadTest.warmupSeconds", 15));
+        Duration measure = Duration.ofSeconds(Integer.getInteger("loadTest.durationSeconds", 60));
+        int maxInFlight = Integer.getInteger("loadTest.maxInFlight", 1000);
+        long seed = Long.getLong("loadTest.seed", 42);
+        Path reportDir = Path.of(System.getProperty("loadTest.reportDir", "build/reports/loadtest"));
+
+        List<OpenModelDriver.Result> results;
+        try (EmbeddedPostgres postgres = EmbeddedPostgres.builder().start()) {
+            ConfigurableApplicationContext context = SpringApplication.run(
+                    KeyspringApplication.class, applicationArgs(postgres));
+            try {
+                seedUsers(postgres.getPostgresDatabase(), context, users);
+                int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+                results = runScenarios(
+                        "http://localhost:" + port + "/api/v1/auth",
+                        users, loginRate, registerRate, warmup, measure, maxInFlight, seed);
+            } finally {
+                context.close();
+            }
+        }
+
+        List<String> violations = report(results, reportDir);
+        violations.forEach(violation -> System.out.println("FAILED: " + violation));
+        System.exit(violations.isEmpty() ? 0 : 1);
+    }
+
+    /**
+     * Builds the command line of the application: the embedded database, a random port, and any
+     * {@code loadTest.app.*} overrides.
+     */
+    private static String[] applicationArgs(EmbeddedPostgres postgres) {
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                "--spring.datasource.username=postgres",
+                "--spring.datasource.password=postgres",
+                "--spring.jpa.hibernate.ddl-auto=none",
+                // Saturation is reported in the summary, not as a warning per rejected request
+                "--logging.level.root=WARN",
+                "--logging.level.com.example.keyspring=ERROR",
+                "--logging.level." + LoadTest.class.getPackageName() + "=INFO"));
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith(APP_PREFIX))
+                .sorted()
+                .forEach(name -> args.add("--" + name.substring(APP_PREFIX.length()) + "=" + System.getProperty(name)));
+        return args.toArray(String[]::new);
+    }
+
+    /**
+     * Inserts the users logins are sent for in a single statement, then rebuilds the email filter so
+     * the application sees them.
+     */
+    private static void seedUsers(DataSource dataSource, ConfigurableApplicationContext context, int users)
+            throws SQLException {
+        long start = System.nanoTime();
+        String hash = context.getBean(AuthService.class).hashPassword(PASSWORD);
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO users (prefix, email, password, first_name, last_name) "
+                             + "SELECT 'ksl', 'load-' || g || '@example.com', ?, 'Load', 'Test' "
+                             + "FROM generate_series(1, ?) g")) {
+            insert.setString(1, hash);
+            insert.setInt(2, users);
+            insert.executeUpdate();
+        }
+        context.getBean(RegisteredEmailFilter.class).rebuild();
+        logger.info("Seeded {} users in {} ms", users, Duration.ofNanos(System.nanoTime() - start).toMillis());
+    }
+
+    private static List<OpenModelDriver.Result> runScenarios(
+            String baseUrl,
+            int users,
+            double loginRate,
+            double registerRate,
+            Duration warmup,
+            Duration measure,
+            int maxInFlight,
+            long seed) throws Exception {
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        Duration requestTimeout = Duration.ofSeconds(30);
+
+        List<OpenModelDriver> drivers = new ArrayList<>();
+        if (loginRate > 0 && users > 0) {
+            SplittableRandom random = new SplittableRandom(seed);
+            drivers.add(new OpenModelDriver("login", client, loginRate, maxInFlight, i -> post(
+                    baseUrl + "/login",
+                    "{\"email\":\"load-" + (random.nextInt(users) + 1) + "@example.com\",\"password\":\"" + PASSWORD + "\"}",
+                    requestTimeout)));
+        }
+        if (registerRate > 0) {
+            drivers.add(new OpenModelDriver("register", client, registerRate, maxInFlight, i -> post(
+                    baseUrl + "/register/keySpring",
+                    "{\"email\":\"register-" + i + "@example.com\",\"password\":\"" + PASSWORD
+                            + "\",\"first_name\":\"Load\",\"last_name\":\"Test\"}",
+                    requestTimeout)));
+        }
+
+        logger.info("Sending load for {} s of warmup and {} s measured", warmup.toSeconds(), measure.toSeconds());
+        ExecutorService threads = Executors.newFixedThreadPool(Math.max(1, drivers.size()));
+        try {
+            List<Future<OpenModelDriver.Result>> running = new ArrayList<>();
+            for (OpenModelDriver driver : drivers) {
+                running.add(threads.submit(() -> driver.run(warmup, measure, requestTimeout)));
+            }
+            List<OpenModelDriver.Result> results = new ArrayList<>();
+            for (Future<OpenModelDriver.Result> result : running) {
+                results.add(result.get());
+            }
+            return results;
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+    private static HttpRequest post(String url, String body, Duration timeout) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(timeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    /**
+     * Writes the latency distributions and the summary, and checks the results against the gates.
+     *
+     * @return the gates that were missed.
+     */
+    private static List<String> report(List<OpenModelDriver.Result> results, Path reportDir) throws IOException {
+        Files.createDirectories(reportDir);
+        Double maxP99Millis = System.getProperty("loadTest.maxP99Ms") == null ? null : doubleProperty("loadTest.maxP99Ms", 0);
+        Double maxErrorRate = System.getProperty("loadTest.maxErrorRate") == null ? null : doubleProperty("loadTest.maxErrorRate", 0);
+
+        StringBuilder summary = new StringBuilder(String.format(Locale.ROOT,
+                "%-10s %9s %9s %8s %8s %8s %8s %8s %9s %8s  %s%n",
+                "scenario", "target/s", "ok/s", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms", "dropped", "statuses"));
+        List<String> violations = new ArrayList<>();
+        for (OpenModelDriver.Result result : results) {
+            Histogram latency = result.latencyMicros();
+            try (PrintStream out = new PrintStream(Files.newOutputStream(reportDir.resolve(result.name() + ".hgrm")))) {
+                // Recorded in microseconds, reported in milliseconds
+                latency.outputPercentileDistribution(out, 1000.0);
+            }
+
+            summary.append(String.format(Locale.ROOT, "%-10s %9.1f %9.1f %7.2f%% ",
+                    result.name(), result.targetRate(), result.succeeded() / result.seconds(), result.errorRate() * 100));
+            for (double percentile : PERCENTILES) {
+                summary.append(String.format(Locale.ROOT, "%8.1f ", millis(latency.getValueAtPercentile(percentile))));
+            }
+            summary.append(String.format(Locale.ROOT, "%9.1f %8d  %s failed=%d%n",
+                    millis(latency.getMaxValue()), result.dropped(), result.statuses(), result.failed()));
+
+            double p99Millis = millis(latency.getValueAtPercentile(99));
+            if (maxP99Millis != null && p99Millis > maxP99Millis) {
+                violations.add(String.format(Locale.ROOT, "%s p99 of %.1f ms exceeds %.1f ms", result.name(), p99Millis, maxP99Millis));
+            }
+            if (maxErrorRate != null && result.errorRate() > maxErrorRate) {
+                violations.add(String.format(Locale.ROOT, "%s error rate of %.4f exceeds %.4f", result.name(), result.errorRate(), maxErrorRate));
+            }
+        }
+
+        Files.writeString(reportDir.resolve("summary.txt"), summary);
+        System.out.print(summary);
+        System.out.println("Latency distributions written to " + reportDir.toAbsolutePath());
+        return violations;
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static double doubleProperty(String name, double defaultValue) {
+        String value = System.getProperty(name);
+        return value == null || value.isBlank() ? defaultValue : Double.parseDouble(value);
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.keyspring.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongFunction;
+
+/**
+ * Sends requests at a fixed arrival rate, whether or not earlier requests have completed.
+ * <p>
+ * Request {@code i} is due at {@code start + i / rate}. Its latency is measured from that due time
+ * rather than from when it was actually sent, so a stalled server or a late driver shows up as
+ * latency instead of silently lowering the offered load (coordinated omission). Requests are
+ * recorded only once the warmup is over; requests that would exceed the in-flight limit are not
+ * sent and are counted as dropped.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+final class OpenModelDriver {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(5);
+
+    /**
+     * The outcome of a measured run.
+     *
+     * @param name the name of the scenario.
+     * @param targetRate the offered load in requests per second.
+     * @param seconds the length of the measured phase in seconds.
+     * @param sent the number of requests sent while measuring.
+     * @param statuses the number of responses per HTTP status.
+     * @param failed the number of requests that got no response.
+     * @param dropped the number of requests not sent because too many were in flight.
+     * @param latencyMicros the latency of every response in microseconds.
+     */
+    record Result(
+            String name,
+            double targetRate,
+            double seconds,
+            long sent,
+            Map<Integer, Long> statuses,
+            long failed,
+            long dropped,
+            Histogram latencyMicros) {
+
+        /**
+         * @return the number of responses with a 2xx status.
+         */
+        long succeeded() {
+            return statuses.entrySet().stream()
+                    .filter(entry -> entry.getKey() / 100 == 2)
+                    .mapToLong(Map.Entry::getValue)
+                    .sum();
+        }
+
+        /**
+         * @return the share of measured requests that were dropped, failed or answered with an error status.
+         */
+        double errorRate() {
+            long total = sent + dropped;
+            return total == 0 ? 0 : 1.0 - (double) succeeded() / total;
+        }
+    }
+
+    private final String name;
+    private final HttpClient client;
+    private final double ratePerSecond;
+    private final int maxInFlight;
+    private final LongFunction<HttpRequest> requests;
+
+    private final Recorder recorder = new Recorder(MAX_LATENCY_MICROS, 3);
+    private final ConcurrentHashMap<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder sent = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * Constructs a new {@code OpenModelDriver}.
+     *
+     * @param name the name of the scenario, used in reports.
+     * @param client the client sending the requests.
+     * @param ratePerSecond the number of requests to send per second.
+     * @param maxInFlight the most requests allowed to wait for a response.
+     * @param requests builds the request with the given sequence number; only called from the driving thread.
+     */
+    OpenModelDriver(String name, HttpClient client, double ratePerSecond, int maxInFlight, LongFunction<HttpRequest> requests) {
+        this.name = name;
+        this.client = client;
+        this.ratePerSecond = ratePerSecond;
+        this.maxInFlight = maxInFlight;
+        this.requests = requests;
+    }
+
+    /**
+     * Sends requests for the warmup and the measured phase, then waits for the outstanding responses.
+     *
+     * @param warmup how long to send requests without recording them.
+     * @param measure how long to send and record requests.
+     * @param drainTimeout how long to wait for outstanding responses once sending has stopped.
+     * @return the outcome of the measured phase.
+     * @throws InterruptedException if the thread is interrupted while waiting for responses.
+     */
+    Result run(Duration warmup, Duration measure, Duration drainTimeout) throws InterruptedException {
+        long periodNanos = Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / ratePerSecond));
+        long start = System.nanoTime();
+        long measureStart = start + warmup.toNanos();
+        long end = measureStart + measure.toNanos();
+
+        for (long i = 0; ; i++) {
+            long due = start + i * periodNanos;
+            if (due - end >= 0) break;
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            send(i, due, due - measureStart >= 0);
+        }
+
+        long drainDeadline = System.nanoTime() + drainTimeout.toNanos();
+        while (inFlight.get() > 0 && System.nanoTime() - drainDeadline < 0) {
+            Thread.sleep(10);
+        }
+
+        Map<Integer, Long> counts = new TreeMap<>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return new Result(
+                name,
+                ratePerSecond,
+                measure.toNanos() / 1e9,
+                sent.sum(),
+                counts,
+                failed.sum() + inFlight.get(),
+                dropped.sum(),
+                recorder.getIntervalHistogram());
+    }
+
+    private void send(long sequence, long due, boolean measured) {
+        if (inFlight.incrementAndGet() > maxInFlight) {
+            inFlight.decrementAndGet();
+            if (measured) dropped.increment();
+            return;
+        }
+        if (measured) sent.increment();
+        client.sendAsync(requests.apply(sequence), HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - due);
+                    if (measured) {
+                        if (error != null) {
+                            failed.increment();
+                        } else {
+                            recorder.recordValue(Math.min(latencyMicros, MAX_LATENCY_MICROS));
+                            statuses.computeIfAbsent(response.statusCode(), status -> new LongAdder()).increment();
+                        }
+                    }
+                    inFlight.decrementAndGet();
+                });
+    }
+}
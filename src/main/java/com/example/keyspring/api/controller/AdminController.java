@@ -0,0 +1,83 @@
+package com.example.keyspring.api.controller;
+
+import com.example.keyspring.service.UserExportService;
+import com.example.keyspring.service.UserImportService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+
+/**
+ * Controller responsible for administrative operations on users, such as bulk import and export.
+ * Every endpoint requires the {@code admin} role.
+ * <p>
+ * Both endpoints stream: the request and response bodies are processed while they are transferred,
+ * so arbitrarily large imports and exports run in constant memory.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+@RestController
+@RequestMapping(path = "api/v1/admin")
+public class AdminController {
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final String CSV = "text/csv";
+
+    private final UserImportService userImportService;
+    private final UserExportService userExportService;
+
+    /**
+     * Constructs an {@code AdminController} instance.
+     *
+     * @param userImportService The service importing users in bulk.
+     * @param userExportService The service exporting all users.
+     */
+    @Autowired
+    public AdminController(UserImportService userImportService, UserExportService userExportService) {
+        this.userImportService = userImportService;
+        this.userExportService = userExportService;
+    }
+
+    /**
+     * Imports users from an NDJSON or CSV request body.
+     * <p>
+     * The response is NDJSON with one result per input row, written as each chunk of rows is saved,
+     * followed by a summary line.
+     *
+     * @param request The request carrying the users to import.
+     * @param response The response the results are streamed to.
+     * @throws IOException if reading the request or writing the response fails.
+     */
+    @PostMapping(path = "/users/import", consumes = {NDJSON, CSV})
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        UserImportService.Format format = request.getContentType().startsWith(CSV)
+                ? UserImportService.Format.CSV
+                : UserImportService.Format.NDJSON;
+
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        userImportService.importUsers(request.getInputStream(), format, response.getOutputStream());
+    }
+
+    /**
+     * Exports all users as NDJSON, one user per line.
+     *
+     * @param response The response the users are streamed to.
+     * @throws IOException if writing the response fails.
+     */
+    @GetMapping(path = "/users/export")
+    public void exportUsers(HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"users.ndjson\"");
+        userExportService.exportUsers(response.getOutputStream());
+    }
+}
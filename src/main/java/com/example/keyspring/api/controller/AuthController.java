@@ -1,18 +1,34 @@
 package com.example.keyspring.api.controller;
 
-import com.example.keyspring.model.User;
+import com.example.keyspring.model.request.IntrospectionRequest;
+import com.example.keyspring.model.request.LoginRequest;
+import com.example.keyspring.model.request.PasswordResetConfirmRequest;
+import com.example.keyspring.model.request.PasswordResetRequest;
+import com.example.keyspring.model.request.RefreshTokenRequest;
+import com.example.keyspring.model.request.RegisterRequest;
 import com.example.keyspring.model.response.Response;
+import com.example.keyspring.model.response.ResponseStatus;
 import com.example.keyspring.security.JweTokenService;
+import com.example.keyspring.security.PasswordHashingExecutor;
 import com.example.keyspring.service.AuthService;
+import com.example.keyspring.service.PasswordResetService;
+import com.example.keyspring.service.TokenIntrospectionService;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.Map;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Controller responsible for handling authentication-related operations such as user registration and login.
@@ -21,7 +37,7 @@ import java.util.Map;
  * @author Arthur Artugue
  * @version 1.0
  * @since 2024-12-21
- * @modified 2024-12-24
+ * @modified 2026-10-17
  */
 @RestController
 @RequestMapping(path = "api/v1/auth")
@@ -29,16 +45,30 @@ public class AuthController {
 
     private final AuthService authService;
     private final JweTokenService jweTokenService;
+    private final PasswordHashingExecutor hashingExecutor;
+    private final TokenIntrospectionService introspectionService;
+    private final PasswordResetService passwordResetService;
 
    /**
     * Constructs an {@code AuthController} instance with the provided {@code AuthService}.
     *
     * @param authService The authentication service that handles the business logic for user registration and validation.
+    * @param hashingExecutor The password hashing pool, used to advertise {@code Retry-After} when it is saturated.
+    * @param introspectionService The service verifying batches of tokens for gateways.
+    * @param passwordResetService The service resetting forgotten passwords.
     */
     @Autowired
-    public AuthController(AuthService authService, JweTokenService jweTokenService) {
+    public AuthController(
+            AuthService authService,
+            JweTokenService jweTokenService,
+            PasswordHashingExecutor hashingExecutor,
+            TokenIntrospectionService introspectionService,
+            PasswordResetService passwordResetService) {
         this.authService = authService;
         this.jweTokenService = jweTokenService;
+        this.hashingExecutor = hashingExecutor;
+        this.introspectionService = introspectionService;
+        this.passwordResetService = passwordResetService;
     }
 
     /**
@@ -46,21 +76,14 @@ public class AuthController {
      * <p>
      * This endpoint validates the user data, registers the user if validation passes, and returns a response
      * indicating the success or failure of the registration.
+     * The request thread is released while the password is hashed and the user is stored.
      *
-     * @param user The user details to be registered.
-     * @return A {@link ResponseEntity} containing the status and message of the registration attempt.
+     * @param request The user details to be registered.
+     * @return A future completing with a {@link ResponseEntity} containing the status and message of the registration attempt.
      */
     @PostMapping(path = "/register/keySpring")
-    public ResponseEntity<Response> registerToKeySpring(@RequestBody User user) {
-
-        Response response = authService.register(user);
-
-        return switch (response.getStatus()) {
-            case "409" -> ResponseEntity.status(HttpStatus.CONFLICT).body(response);
-            case "400" -> ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
-            case "200" -> ResponseEntity.ok(response);
-            default -> ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
-        };
+    public CompletableFuture<ResponseEntity<Response>> registerToKeySpring(@RequestBody RegisterRequest request) {
+        return authService.registerAsync(request).thenApply(this::toResponseEntity);
     }
 
     @PostMapping(path = "/register/google")
@@ -73,20 +96,127 @@ public class AuthController {
      * <p>
      * This endpoint validates the login credentials, checks if the user exists,
      * and returns a response indicating the success or failure of the login attempt.
+     * The request thread is released while the user is loaded and the password is verified.
      *
-     * @param requestBody A map containing the email and password of the user.
-     * @return A {@link ResponseEntity} containing the status and message of the login attempt.
+     * @param request The email and password of the user.
+     * @return A future completing with a {@link ResponseEntity} containing the status and message of the login attempt.
      */
     @PostMapping(path = "/login")
-    public ResponseEntity<Response> login(@RequestBody Map<String, String> requestBody) {
-        Response response = authService.login(requestBody);
-
-        return switch (response.getStatus()) {
-            case "404" -> ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
-            case "401" -> ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
-            case "400" -> ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
-            case "200" -> ResponseEntity.ok(response);
-            default -> ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(response);
-        };
+    public CompletableFuture<ResponseEntity<Response>> login(@RequestBody LoginRequest request) {
+        return authService.loginAsync(request).thenApply(this::toResponseEntity);
+    }
+
+    /**
+     * Exchanges a refresh token for a new pair of access and refresh tokens.
+     * <p>
+     * This endpoint does not verify a password, so renewing a session is far cheaper than logging in again.
+     *
+     * @param request The refresh token to exchange.
+     * @return A {@link ResponseEntity} containing the status and message of the refresh attempt.
+     */
+    @PostMapping(path = "/refresh")
+    public ResponseEntity<Response> refresh(@RequestBody RefreshTokenRequest request) {
+        return toResponseEntity(authService.refresh(request));
+    }
+
+    /**
+     * Logs the user out by revoking the access token the request was made with.
+     *
+     * @param authorization The {@code Authorization} header carrying the bearer token to revoke.
+     * @param request An optional body carrying the refresh token to revoke as well.
+     * @return A {@link ResponseEntity} containing the status and message of the logout attempt.
+     */
+    @PostMapping(path = "/logout")
+    public ResponseEntity<Response> logout(
+            @RequestHeader(HttpHeaders.AUTHORIZATION) String authorization,
+            @RequestBody(required = false) RefreshTokenRequest request) {
+        return toResponseEntity(authService.logout(
+                authorization,
+                request == null ? null : request.refreshToken()));
+    }
+
+    /**
+     * Sends a password reset token to the user with the given email.
+     * <p>
+     * The response is the same whether or not the email is registered. Without a configured
+     * {@code PasswordResetSender}, requests are refused with {@code 404}.
+     *
+     * @param request The email of the account to reset.
+     * @return A {@link ResponseEntity} acknowledging the request.
+     */
+    @PostMapping(path = "/password-reset/request")
+    public ResponseEntity<Response> requestPasswordReset(
+            @RequestBody PasswordResetRequest request,
+            HttpServletRequest httpRequest) {
+        return toResponseEntity(passwordResetService.requestReset(request, httpRequest.getRemoteAddr()));
+    }
+
+    /**
+     * Sets a new password with a password reset token and signs the user out of their other sessions.
+     *
+     * @param request The reset token and the new password.
+     * @return A {@link ResponseEntity} containing the status and message of the reset attempt.
+     */
+    @PostMapping(path = "/password-reset/confirm")
+    public ResponseEntity<Response> confirmPasswordReset(@RequestBody PasswordResetConfirmRequest request) {
+        return toResponseEntity(passwordResetService.confirmReset(request));
+    }
+
+    /**
+     * Verifies a batch of access tokens on behalf of a gateway.
+     * <p>
+     * Every token is answered with its own result, in request order, so a single request can check
+     * hundreds of tokens. Restricted to gateway and admin accounts.
+     *
+     * @param request The tokens to verify.
+     * @return A {@link ResponseEntity} containing one introspection result per token.
+     */
+    @PostMapping(path = "/introspect")
+    public ResponseEntity<Response> introspect(@RequestBody IntrospectionRequest request) {
+        return toResponseEntity(introspectionService.introspect(request));
+    }
+
+    /**
+     * Verifies a stream of access tokens on behalf of a gateway.
+     * <p>
+     * The body holds one token per line and the response one JSON result per line
+     * ({@code application/x-ndjson}), in the same order. Results are written while the body is still
+     * being read, so batches of any size are handled without buffering them.
+     *
+     * @param request The request whose body holds the tokens.
+     * @return A {@link ResponseEntity} streaming the introspection results.
+     * @throws IOException if the request body cannot be opened.
+     */
+    @PostMapping(path = "/introspect/stream")
+    public ResponseEntity<StreamingResponseBody> introspectStream(HttpServletRequest request) throws IOException {
+        InputStream tokens = request.getInputStream();
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> introspectionService.introspect(tokens, out));
+    }
+
+    /**
+     * Maps a response to the HTTP status its {@link ResponseStatus} stands for.
+     *
+     * @param response The response body to return.
+     * @return A {@link ResponseEntity} carrying the matching HTTP status.
+     */
+    private ResponseEntity<Response> toResponseEntity(Response response) {
+        if (response.getStatus() == ResponseStatus.SERVICE_UNAVAILABLE) {
+            return serviceUnavailable(response);
+        }
+        return ResponseEntity.status(response.getStatus().getHttpStatus()).body(response);
+    }
+
+    /**
+     * Builds a {@code 503 Service Unavailable} response advertising when the client may retry.
+     *
+     * @param response The response body to return.
+     * @return A {@link ResponseEntity} carrying a {@code Retry-After} header.
+     */
+    private ResponseEntity<Response> serviceUnavailable(Response response) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(hashingExecutor.getRetryAfterSeconds()))
+                .body(response);
     }
 }
@@ -0,0 +1,68 @@
+package com.example.keyspring.api.controller;
+
+import com.example.keyspring.security.SigningKeyStore;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+
+/**
+ * Controller publishing the public keys access tokens are signed with as a JWK Set (RFC 7517).
+ * <p>
+ * Resource servers fetch the set once and verify tokens locally, so validating a token never calls
+ * back into KeySpring. The set only changes when keys are rotated, so it is served from memory with
+ * a long {@code Cache-Control} lifetime ({@code keyspring.jwt.jwks-max-age-seconds}) and an ETag.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+@RestController
+public class JwksController {
+
+    private final SigningKeyStore signingKeys;
+    private final CacheControl cacheControl;
+
+    /**
+     * Constructs a {@code JwksController} instance.
+     *
+     * @param signingKeys The store holding the published keys.
+     * @param maxAgeSeconds How long clients and caches may reuse the JWK Set.
+     */
+    @Autowired
+    public JwksController(
+            SigningKeyStore signingKeys,
+            @Value("${keyspring.jwt.jwks-max-age-seconds:86400}") long maxAgeSeconds) {
+        this.signingKeys = signingKeys;
+        this.cacheControl = CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic();
+    }
+
+    /**
+     * Returns the JWK Set of the keys tokens are signed with.
+     *
+     * @param ifNoneMatch The entity tag the client already holds, if any.
+     * @return A {@link ResponseEntity} with the JWK Set, or {@code 304 Not Modified} if the client's copy is current.
+     */
+    @GetMapping(path = "/.well-known/jwks.json")
+    public ResponseEntity<byte[]> jwks(@RequestHeader(name = "If-None-Match", required = false) String ifNoneMatch) {
+        if (signingKeys.getJwksETag().equals(ifNoneMatch)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .cacheControl(cacheControl)
+                    .eTag(signingKeys.getJwksETag())
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(cacheControl)
+                .eTag(signingKeys.getJwksETag())
+                .body(signingKeys.getJwks());
+    }
+}
@@ -1,4 +1,97 @@
 package com.example.keyspring.api.controller;
 
+import com.example.keyspring.model.claim.UserClaim;
+import com.example.keyspring.model.response.Response;
+import com.example.keyspring.model.response.ResponseStatus;
+import com.example.keyspring.service.UserProfileService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Optional;
+
+/**
+ * Controller responsible for the operations users perform on their own account.
+ * <p>
+ * Profiles are served from the node-local cache of the {@link UserProfileService} with an ETag, and
+ * clients are told to revalidate on every use, so a poll for an unchanged profile costs a {@code 304}
+ * without a body or a database query.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+@RestController
+@RequestMapping(path = "api/v1/users")
 public class UserController {
+
+    private static final Response USER_NOT_FOUND = Response.prepared(
+            ResponseStatus.NOT_FOUND,
+            "User not found.");
+    // Profiles are personal: browsers may keep them but must revalidate, shared caches must not keep them
+    private static final CacheControl PROFILE_CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private final UserProfileService userProfileService;
+
+    /**
+     * Constructs a {@code UserController} instance.
+     *
+     * @param userProfileService The service serving user profiles.
+     */
+    @Autowired
+    public UserController(UserProfileService userProfileService) {
+        this.userProfileService = userProfileService;
+    }
+
+    /**
+     * Returns the profile of the user the request was authenticated as.
+     *
+     * @param user The principal of the access token the request was made with.
+     * @param ifNoneMatch The entity tags of the profile the client already holds, if any.
+     * @return A {@link ResponseEntity} containing the profile, or {@code 304 Not Modified} if the client's copy is current.
+     */
+    @GetMapping(path = "/me")
+    public ResponseEntity<Response> getProfile(
+            @AuthenticationPrincipal UserClaim user,
+            @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        Optional<UserProfileService.CachedProfile> profile = userProfileService.getProfile(user.getUniqueId());
+        if (profile.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(USER_NOT_FOUND);
+        }
+        if (matches(ifNoneMatch, profile.get().eTag())) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(profile.get().eTag())
+                    .cacheControl(PROFILE_CACHE_CONTROL)
+                    .build();
+        }
+        return ResponseEntity.ok()
+                .eTag(profile.get().eTag())
+                .cacheControl(PROFILE_CACHE_CONTROL)
+                .body(profile.get().response());
+    }
+
+    /**
+     * Checks an {@code If-None-Match} header, which may list several entity tags, against the current one.
+     *
+     * @param ifNoneMatch The header value, may be null.
+     * @param eTag The current entity tag.
+     * @return true if the client already holds the current representation.
+     */
+    private static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.strip();
+            if (tag.startsWith("W/")) tag = tag.substring(2);
+            if (tag.equals(eTag) || tag.equals("*")) return true;
+        }
+        return false;
+    }
 }
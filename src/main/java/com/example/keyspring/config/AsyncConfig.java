@@ -0,0 +1,129 @@
+package com.example.keyspring.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configuration class for the thread pools of asynchronous requests.
+ * <p>
+ * Login and registration release their servlet thread as soon as the request is validated. Database
+ * work then runs on this pool while password hashing runs on the {@code PasswordHashingExecutor}, so
+ * slow queries cannot starve hashing and vice versa. The pool is bounded; once its queue is full,
+ * submissions are rejected and the request is answered with {@code 503}.
+ * <ul>
+ *     <li>{@code keyspring.async.io-pool-size} - number of I/O threads, should not exceed the connection pool.</li>
+ *     <li>{@code keyspring.async.io-queue-capacity} - number of tasks allowed to wait for a thread.</li>
+ * </ul>
+ * Token introspection verifies large batches in parallel on a separate pool sized to the CPUs, since
+ * signature verification is CPU-bound and must not queue behind database work.
+ * <ul>
+ *     <li>{@code keyspring.introspection.pool-size} - number of verification threads, 0 for one per CPU.</li>
+ *     <li>{@code keyspring.introspection.queue-capacity} - number of token chunks allowed to wait for a thread.</li>
+ * </ul>
+ * Scheduled jobs (write-behind flushes, filter syncs and sweeps) run on their own scheduler instead of
+ * Spring's single-threaded default, so a slow rebuild or sweep does not hold up the flushes behind it.
+ * <ul>
+ *     <li>{@code keyspring.scheduling.pool-size} - number of threads running scheduled jobs.</li>
+ * </ul>
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+@Configuration
+public class AsyncConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(AsyncConfig.class);
+
+    /**
+     * Name of the executor bean running blocking I/O of asynchronous requests.
+     */
+    public static final String IO_EXECUTOR = "authIoExecutor";
+
+    /**
+     * Name of the executor bean verifying chunks of introspected tokens.
+     */
+    public static final String VERIFY_EXECUTOR = "tokenVerifyExecutor";
+
+    /**
+     * Builds the scheduler running the {@code @Scheduled} jobs of the application.
+     *
+     * @return the {@link ThreadPoolTaskScheduler} used for scheduled jobs.
+     */
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(@Value("${keyspring.scheduling.pool-size:4}") int poolSize) {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(Math.max(2, poolSize));
+        scheduler.setThreadNamePrefix("keyspring-scheduling-");
+        scheduler.setDaemon(true);
+        scheduler.setWaitForTasksToCompleteOnShutdown(true);
+        scheduler.setAwaitTerminationSeconds(10);
+        logger.info("Scheduler started with {} threads", scheduler.getPoolSize());
+        return scheduler;
+    }
+
+    /**
+     * Builds the bounded pool running blocking I/O of asynchronous requests.
+     *
+     * @return the {@link ThreadPoolExecutor} for database work of asynchronous requests.
+     */
+    @Bean(name = IO_EXECUTOR, destroyMethod = "shutdown")
+    public ThreadPoolExecutor authIoExecutor(
+            @Value("${keyspring.async.io-pool-size:10}") int poolSize,
+            @Value("${keyspring.async.io-queue-capacity:1000}") int queueCapacity) {
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "auth-io-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        logger.info("Auth I/O pool started with {} threads and queue capacity {}", poolSize, queueCapacity);
+        return executor;
+    }
+
+    /**
+     * Builds the bounded pool verifying chunks of introspected tokens in parallel.
+     *
+     * @return the {@link ThreadPoolExecutor} for token verification.
+     */
+    @Bean(name = VERIFY_EXECUTOR, destroyMethod = "shutdown")
+    public ThreadPoolExecutor tokenVerifyExecutor(
+            @Value("${keyspring.introspection.pool-size:0}") int poolSize,
+            @Value("${keyspring.introspection.queue-capacity:256}") int queueCapacity) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "token-verify-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        logger.info("Token verification pool started with {} threads and queue capacity {}", threads, queueCapacity);
+        return executor;
+    }
+}
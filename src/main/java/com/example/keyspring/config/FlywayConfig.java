@@ -0,0 +1,35 @@
+package com.example.keyspring.config;
+
+import org.flywaydb.database.postgresql.PostgreSQLConfigurationExtension;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class for the Flyway migrations.
+ * <p>
+ * Index migrations build their indexes with {@code CREATE INDEX CONCURRENTLY} outside a transaction, so
+ * writes to the table are not blocked while they run. Flyway guards migrations with a transaction-scoped
+ * advisory lock by default, and a concurrent index build waits for every open transaction to finish,
+ * including the one holding that lock. Flyway is therefore switched to a session-scoped advisory lock.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+@Configuration
+public class FlywayConfig {
+
+    /**
+     * Makes Flyway take a session-scoped advisory lock that concurrent index builds do not wait for.
+     *
+     * @return the {@link FlywayConfigurationCustomizer} applied to the auto-configured Flyway.
+     */
+    @Bean
+    public FlywayConfigurationCustomizer sessionLockFlywayCustomizer() {
+        return configuration -> configuration.getPluginRegister()
+                .getPlugin(PostgreSQLConfigurationExtension.class)
+                .setTransactionalLock(false);
+    }
+}
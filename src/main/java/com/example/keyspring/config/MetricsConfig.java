@@ -0,0 +1,181 @@
+package com.example.keyspring.config;
+
+import com.example.keyspring.security.LoginAttemptTracker;
+import com.example.keyspring.security.PasswordHashingExecutor;
+import com.example.keyspring.security.TokenRevocationService;
+import com.example.keyspring.security.VerifiedTokenCache;
+import com.example.keyspring.service.LastLoginRecorder;
+import com.example.keyspring.service.RegisteredEmailFilter;
+import com.example.keyspring.service.UserProfileService;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration class publishing the state of the in-memory components of the auth pipeline.
+ * <p>
+ * The components already keep their own statistics; these binders only read them when the registry
+ * is scraped, so nothing is added to the request path. Request latencies are recorded by
+ * {@code AuthMetrics}. The meters are exposed through Actuator, e.g. {@code /actuator/prometheus}.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Publishes the saturation of the password hashing pool.
+     *
+     * @param executor the password hashing pool.
+     * @return the {@link MeterBinder} for the pool.
+     */
+    @Bean
+    public MeterBinder passwordHashingMetrics(PasswordHashingExecutor executor) {
+        return registry -> {
+            Gauge.builder("keyspring.hashing.queue.depth", executor, PasswordHashingExecutor::getQueueDepth)
+                    .description("Hashing tasks waiting for a worker")
+                    .register(registry);
+            Gauge.builder("keyspring.hashing.queue.capacity", executor, PasswordHashingExecutor::getQueueCapacity)
+                    .description("Hashing tasks allowed to wait for a worker")
+                    .register(registry);
+            Gauge.builder("keyspring.hashing.active", executor, PasswordHashingExecutor::getActiveCount)
+                    .description("Workers currently hashing")
+                    .register(registry);
+            Gauge.builder("keyspring.hashing.queue.wait.max", executor, PasswordHashingExecutor::getMaxWaitMillis)
+                    .description("Longest time a hashing task waited for a worker")
+                    .baseUnit("milliseconds")
+                    .register(registry);
+            FunctionTimer.builder("keyspring.hashing.queue.wait", executor,
+                            PasswordHashingExecutor::getStartedCount,
+                            PasswordHashingExecutor::getTotalWaitNanos,
+                            TimeUnit.NANOSECONDS)
+                    .description("Time hashing tasks waited for a worker")
+                    .register(registry);
+            FunctionCounter.builder("keyspring.hashing.succeeded", executor, PasswordHashingExecutor::getSucceededCount)
+                    .description("Hashing tasks that ran and returned a result")
+                    .register(registry);
+            FunctionCounter.builder("keyspring.hashing.failed", executor, PasswordHashingExecutor::getFailedCount)
+                    .description("Hashing tasks that ran and threw")
+                    .register(registry);
+            FunctionCounter.builder("keyspring.hashing.rejected", executor, PasswordHashingExecutor::getRejectedCount)
+                    .description("Hashing tasks rejected because the queue was full")
+                    .register(registry);
+            FunctionCounter.builder("keyspring.hashing.expired", executor, PasswordHashingExecutor::getExpiredCount)
+                    .description("Hashing tasks dropped because they missed their deadline")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Publishes the hit rate and size of the verified token cache.
+     *
+     * @param cache the verified token cache.
+     * @return the {@link MeterBinder} for the cache.
+     */
+    @Bean
+    public MeterBinder verifiedTokenCacheMetrics(VerifiedTokenCache cache) {
+        return registry -> {
+            Gauge.builder("keyspring.token.cache.size", cache, VerifiedTokenCache::getSize)
+                    .description("Verified tokens held in the cache")
+                    .register(registry);
+            FunctionCounter.builder("keyspring.token.cache.hits", cache, VerifiedTokenCache::getHitCount)
+                    .description("Token lookups answered from the cache")
+                    .register(registry);
+            FunctionCounter.builder("keyspring.token.cache.misses", cache, VerifiedTokenCache::getMissCount)
+                    .description("Token lookups that required a full verification")
+                    .register(registry);
+            FunctionCounter.builder("keyspring.token.cache.evictions", cache, VerifiedTokenCache::getEvictionCount)
+                    .description("Cached tokens dropped because they expired or the cache was full")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Publishes the hit rate and size of the profile cache.
+     *
+     * @param profiles the service caching user profiles.
+     * @return the {@link MeterBinder} for the cache.
+     */
+    @Bean
+    public MeterBinder profileCacheMetrics(UserProfileService profiles) {
+        return registry -> {
+            Gauge.builder("keyspring.profile.cache.size", profiles, UserProfileService::getSize)
+                    .description("User profiles held in the cache")
+                    .register(registry);
+            FunctionCounter.builder("keyspring.profile.cache.hits", profiles, UserProfileService::getHitCount)
+                    .description("Profile lookups answered from the cache")
+                    .register(registry);
+            FunctionCounter.builder("keyspring.profile.cache.misses", profiles, UserProfileService::getMissCount)
+                    .description("Profile lookups that loaded the user from the database")
+                    .register(registry);
+            FunctionCounter.builder("keyspring.profile.cache.invalidations", profiles, UserProfileService::getInvalidationCount)
+                    .description("Cached profiles evicted because their user was updated")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Publishes the sizes of the in-memory state kept by the auth pipeline.
+     *
+     * @param revocations the token revocation service.
+     * @param loginAttempts the tracker of failed logins.
+     * @param lastLogins the recorder of last login times.
+     * @param emailFilter the filter of registered emails.
+     * @return the {@link MeterBinder} for the in-memory state.
+     */
+    @Bean
+    public MeterBinder authStateMetrics(
+            TokenRevocationService revocations,
+            LoginAttemptTracker loginAttempts,
+            LastLoginRecorder lastLogins,
+            RegisteredEmailFilter emailFilter) {
+        return registry -> {
+            Gauge.builder("keyspring.revocation.size", revocations, TokenRevocationService::getSize)
+                    .description("Revoked tokens held in memory")
+                    .register(registry);
+            Gauge.builder("keyspring.lockout.tracked", loginAttempts, LoginAttemptTracker::getSize)
+                    .description("Accounts with failed logins held in memory")
+                    .register(registry);
+            Gauge.builder("keyspring.last-login.pending", lastLogins, LastLoginRecorder::getPendingCount)
+                    .description("Last login times waiting to be written")
+                    .register(registry);
+            Gauge.builder("keyspring.email-filter.size", emailFilter, RegisteredEmailFilter::getSize)
+                    .description("Emails added to the registered email filter")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Publishes the saturation of the I/O pool of asynchronous requests.
+     *
+     * @param executor the I/O pool.
+     * @return the {@link MeterBinder} for the pool.
+     */
+    @Bean
+    public MeterBinder authIoExecutorMetrics(@Qualifier(AsyncConfig.IO_EXECUTOR) ThreadPoolExecutor executor) {
+        return new ExecutorServiceMetrics(executor, AsyncConfig.IO_EXECUTOR, List.of());
+    }
+
+    /**
+     * Publishes the saturation of the token verification pool of introspection requests.
+     *
+     * @param executor the token verification pool.
+     * @return the {@link MeterBinder} for the pool.
+     */
+    @Bean
+    public MeterBinder tokenVerifyExecutorMetrics(@Qualifier(AsyncConfig.VERIFY_EXECUTOR) ThreadPoolExecutor executor) {
+        return new ExecutorServiceMetrics(executor, AsyncConfig.VERIFY_EXECUTOR, List.of());
+    }
+}
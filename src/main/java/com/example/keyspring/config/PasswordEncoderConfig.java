@@ -0,0 +1,72 @@
+package com.example.keyspring.config;
+
+import com.example.keyspring.security.Argon2Calibrator;
+import com.example.keyspring.security.Argon2Settings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+
+/**
+ * Configuration class responsible for choosing the Argon2 parameters used to hash passwords.
+ * <p>
+ * {@code keyspring.argon2.mode} selects where the parameters come from:
+ * <ul>
+ *     <li>{@code defaults} - Spring Security's v5.8 defaults (the historical behaviour).</li>
+ *     <li>{@code fixed} - the explicit {@code memory-kib}, {@code iterations} and {@code parallelism} properties.</li>
+ *     <li>{@code calibrate} - benchmark at startup and pick parameters that hit {@code target-ms}.</li>
+ * </ul>
+ * Stored hashes produced with different parameters are upgraded on the next successful login.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+@Configuration
+public class PasswordEncoderConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordEncoderConfig.class);
+
+    /**
+     * Resolves the Argon2 parameters for the configured mode.
+     *
+     * @return the {@link Argon2Settings} the application hashes with.
+     */
+    @Bean
+    public Argon2Settings argon2Settings(
+            @Value("${keyspring.argon2.mode:defaults}") String mode,
+            @Value("${keyspring.argon2.memory-kib:16384}") int memoryKiB,
+            @Value("${keyspring.argon2.iterations:2}") int iterations,
+            @Value("${keyspring.argon2.parallelism:1}") int parallelism,
+            @Value("${keyspring.argon2.target-ms:100}") long targetMillis,
+            @Value("${keyspring.argon2.max-memory-kib:262144}") int maxMemoryKiB,
+            @Value("${keyspring.argon2.max-iterations:10}") int maxIterations) {
+        Argon2Settings defaults = Argon2Settings.SPRING_SECURITY_V5_8;
+        Argon2Settings configured = new Argon2Settings(
+                defaults.saltLength(), defaults.hashLength(), parallelism, memoryKiB, iterations);
+
+        Argon2Settings settings = switch (mode) {
+            case "defaults" -> defaults;
+            case "fixed" -> configured;
+            case "calibrate" -> Argon2Calibrator.calibrate(configured, targetMillis, maxMemoryKiB, maxIterations);
+            default -> throw new IllegalArgumentException("Unknown keyspring.argon2.mode: " + mode);
+        };
+        logger.info("Hashing passwords with Argon2id m={} t={} p={} ({} mode)",
+                settings.memoryKiB(), settings.iterations(), settings.parallelism(), mode);
+        return settings;
+    }
+
+    /**
+     * Builds the password encoder from the resolved Argon2 parameters.
+     *
+     * @param settings the resolved Argon2 parameters.
+     * @return the {@link Argon2PasswordEncoder} used for hashing and verification.
+     */
+    @Bean
+    public Argon2PasswordEncoder argon2PasswordEncoder(Argon2Settings settings) {
+        return settings.toEncoder();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.keyspring.config;
+
+import com.example.keyspring.model.response.Response;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link Response}s as JSON, copying the body of prepared responses instead of serializing them.
+ * <p>
+ * Constant responses, which make up most of the traffic on rejected logins, are created through
+ * {@link Response#prepared}, serialized here once with the application's {@link ObjectMapper} and
+ * from then on written as plain bytes. Any other response is serialized with the same mapper on
+ * every write, exactly as Jackson's converter would.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+public class PreparedResponseConverter extends AbstractHttpMessageConverter<Response> {
+
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Constructs a new {@code PreparedResponseConverter}.
+     *
+     * @param objectMapper the application's mapper, serializing every response.
+     */
+    public PreparedResponseConverter(ObjectMapper objectMapper) {
+        super(MediaType.APPLICATION_JSON);
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return Response.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Response readInternal(Class<? extends Response> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Responses are never read.", inputMessage);
+    }
+
+    @Override
+    protected Long getContentLength(Response response, MediaType contentType) throws IOException {
+        return response.isPrepared() ? (long) response.preparedBody(objectMapper).length : null;
+    }
+
+    @Override
+    protected void writeInternal(Response response, HttpOutputMessage outputMessage) throws IOException {
+        if (response.isPrepared()) {
+            outputMessage.getBody().write(response.preparedBody(objectMapper));
+        } else {
+            objectMapper.writeValue(outputMessage.getBody(), response);
+        }
+    }
+}
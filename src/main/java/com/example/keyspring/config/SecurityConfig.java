@@ -1,13 +1,18 @@
 package com.example.keyspring.config;
 
+import com.example.keyspring.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.config.Customizer;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 /**
  * Configuration class responsible for handling security configurations for spring security
@@ -15,7 +20,7 @@ import org.springframework.security.web.SecurityFilterChain;
  * @author Arthur Artugue
  * @version 1.0
  * @since 2024-12-21
- * @modified 2024-12-24
+ * @modified 2026-10-17
  */
 
 @Configuration
@@ -26,22 +31,52 @@ public class SecurityConfig {
      * Configures the security filter chain for the application.
      *
      * @param http the {@link HttpSecurity} to modify
+     * @param jwtAuthenticationFilter the filter authenticating requests that carry a bearer token
      * @return the configured {@link SecurityFilterChain}
      * @throws Exception if an error occurs while configuring the security filter chain
      */
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(
+            HttpSecurity http,
+            JwtAuthenticationFilter jwtAuthenticationFilter) throws Exception {
         return http
                 .csrf(AbstractHttpConfigurer::disable) // Disable CSRF since we're working with JWT
                 // Authorize the following requests from the client because they are public
                 .authorizeHttpRequests(authorize -> authorize
+                        // Async results and error pages are dispatched for requests that were already authorized or rejected
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC, DispatcherType.ERROR).permitAll()
                         .requestMatchers("/api/v1/auth/register/google").permitAll()
                         .requestMatchers("/api/v1/auth/register/keySpring").permitAll()
                         .requestMatchers("/api/v1/auth/login").permitAll()
+                        .requestMatchers("/api/v1/auth/refresh").permitAll()
+                        .requestMatchers("/api/v1/auth/password-reset/**").permitAll()
+                        .requestMatchers("/.well-known/jwks.json").permitAll()
+                        // Health checks and metric scrapes come from the infrastructure, not from users
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                        .requestMatchers("/api/v1/auth/introspect/**").hasAnyRole("GATEWAY", "ADMIN")
+                        .requestMatchers("/api/v1/admin/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .exceptionHandling(exceptions -> exceptions
+                        .authenticationEntryPoint(new HttpStatusEntryPoint(HttpStatus.UNAUTHORIZED)))
+                .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
                 .build();
     }
+
+    /**
+     * Keeps the servlet container from registering {@link JwtAuthenticationFilter} on its own,
+     * it only runs as part of the security filter chain.
+     *
+     * @param jwtAuthenticationFilter the filter bean
+     * @return a disabled {@link FilterRegistrationBean} for the filter
+     */
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtAuthenticationFilterRegistration(
+            JwtAuthenticationFilter jwtAuthenticationFilter) {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(jwtAuthenticationFilter);
+        registration.setEnabled(false);
+        return registration;
+    }
 }
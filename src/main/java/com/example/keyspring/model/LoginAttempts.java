@@ -0,0 +1,19 @@
+package com.example.keyspring.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents the brute-force lockout state of an account, as written back to the
+ * {@code failed_login_attempts} and {@code account_locked_until} columns of the users table.
+ *
+ * @param email the normalized email address of the account.
+ * @param failedAttempts the number of consecutive failed logins.
+ * @param lockedUntil the time until which logins are refused, or null if the account is not locked.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+public record LoginAttempts(String email, int failedAttempts, LocalDateTime lockedUntil) {
+}
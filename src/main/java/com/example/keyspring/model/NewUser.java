@@ -0,0 +1,26 @@
+package com.example.keyspring.model;
+
+/**
+ * Represents a validated user, with an already hashed password, ready to be inserted in bulk.
+ * Unlike {@link User}, it is not an entity and is never tracked by the persistence context.
+ *
+ * @param prefix the prefix of the generated unique ID.
+ * @param email the normalized email address of the user.
+ * @param passwordHash the Argon2 hash of the password of the user.
+ * @param firstName the first name of the user.
+ * @param lastName the last name of the user.
+ * @param phoneNumber the phone number of the user, may be null.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+public record NewUser(
+        String prefix,
+        String email,
+        String passwordHash,
+        String firstName,
+        String lastName,
+        String phoneNumber) {
+}
@@ -0,0 +1,52 @@
+package com.example.keyspring.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Represents an issued refresh token.
+ * This class is mapped to the "refresh_tokens" table in the database.
+ * Only the SHA-256 digest of the token is stored. Tokens rotated from one another share a {@code family_id},
+ * so presenting an already used token can revoke every token descended from the same login.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+@Entity
+@Table(name = "refresh_tokens")
+@Getter
+public class RefreshToken {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "id", updatable = false, nullable = false)
+    private Long id;
+
+    @Column(name = "token_hash", length = 64, unique = true, nullable = false, updatable = false)
+    private String token_hash;
+
+    @Column(name = "user_id", nullable = false, updatable = false)
+    private Long user_id;
+
+    @Column(name = "family_id", nullable = false, updatable = false)
+    private UUID family_id;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expires_at;
+
+    @Column(name = "created_at", nullable = false, columnDefinition = "TIMESTAMP DEFAULT NOW()")
+    private LocalDateTime created_at;
+
+    @Column(name = "used_at")
+    private LocalDateTime used_at;
+
+    @Column(name = "revoked", nullable = false, columnDefinition = "BOOLEAN DEFAULT FALSE")
+    private Boolean revoked = false;
+
+    public RefreshToken() {
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.keyspring.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents a revoked access token.
+ * This class is mapped to the "revoked_tokens" table in the database.
+ * Rows are keyed by the token ID ({@code jti} claim) and kept only until the token would have expired anyway.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+@Entity
+@Table(name = "revoked_tokens")
+@Getter
+public class RevokedToken {
+    @Id
+    @Column(name = "jti", length = 64, updatable = false, nullable = false)
+    private String jti;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expires_at;
+
+    @Column(name = "revoked_at", nullable = false, columnDefinition = "TIMESTAMP DEFAULT NOW()")
+    private LocalDateTime revoked_at;
+
+    public RevokedToken() {
+    }
+}
@@ -14,7 +14,7 @@ import java.time.LocalDateTime;
  * @author Arthur Artugue
  * @version 1.0
  * @since 2024-12-21
- * @modified 2024-12-24
+ * @modified 2026-10-17
  */
 @Entity
 @Table(name = "users")
@@ -22,6 +22,7 @@ public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "id", updatable = false, nullable = false)
+    @Getter
     private Long id;
 
     @Column(name = "unique_id", length = 20, unique = true, insertable = false, updatable = false)
@@ -85,7 +86,7 @@ public class User {
     @Getter @Setter
     private LocalDateTime last_login_at;
 
-    @Column(name = "password_reset_token", length = 300)
+    @Column(name = "password_reset_token", length = 64)
     @Getter @Setter
     private String password_reset_token;
 
@@ -0,0 +1,16 @@
+package com.example.keyspring.model.request;
+
+import java.util.List;
+
+/**
+ * Body of a batch token introspection request.
+ *
+ * @param tokens the raw access tokens to verify, without the {@code Bearer} prefix.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+public record IntrospectionRequest(List<String> tokens) {
+}
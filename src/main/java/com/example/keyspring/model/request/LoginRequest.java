@@ -0,0 +1,17 @@
+package com.example.keyspring.model.request;
+
+/**
+ * Body of a login request.
+ *
+ * @param email the email address of the user.
+ * @param password the password of the user.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+public record LoginRequest(
+        String email,
+        String password) {
+}
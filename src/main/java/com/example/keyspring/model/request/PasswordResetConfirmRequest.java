@@ -0,0 +1,19 @@
+package com.example.keyspring.model.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Body of a request setting a new password with a password reset token.
+ *
+ * @param token the password reset token that was sent to the user.
+ * @param newPassword the new password.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+public record PasswordResetConfirmRequest(
+        String token,
+        @JsonProperty("new_password") String newPassword) {
+}
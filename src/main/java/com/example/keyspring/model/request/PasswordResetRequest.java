@@ -0,0 +1,15 @@
+package com.example.keyspring.model.request;
+
+/**
+ * Body of a request for a password reset token.
+ *
+ * @param email the email address of the account to reset.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+public record PasswordResetRequest(
+        String email) {
+}
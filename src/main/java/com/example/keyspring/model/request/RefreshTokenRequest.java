@@ -0,0 +1,17 @@
+package com.example.keyspring.model.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Body of a token refresh or logout request.
+ *
+ * @param refreshToken the refresh token to exchange or revoke.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+public record RefreshTokenRequest(
+        @JsonProperty("refresh_token") String refreshToken) {
+}
@@ -0,0 +1,28 @@
+package com.example.keyspring.model.request;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * Body of a registration request.
+ * <p>
+ * Only these fields can be set by the client; everything else about a new user, such as its role
+ * or verification state, is decided by the server.
+ *
+ * @param email the email address of the user.
+ * @param password the password of the user.
+ * @param firstName the first name of the user.
+ * @param lastName the last name of the user.
+ * @param phoneNumber the phone number of the user, optional.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+public record RegisterRequest(
+        String email,
+        String password,
+        @JsonProperty("first_name") String firstName,
+        @JsonProperty("last_name") String lastName,
+        @JsonProperty("phone_number") String phoneNumber) {
+}
@@ -0,0 +1,35 @@
+package com.example.keyspring.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Result of introspecting a single token, modelled after RFC 7662.
+ * <p>
+ * Inactive tokens carry no other fields, so callers cannot tell an expired token from a forged one.
+ *
+ * @param active whether the token is valid, unexpired and not revoked.
+ * @param sub the subject (unique ID) of the token.
+ * @param jti the ID of the token.
+ * @param role the role signed into the token.
+ * @param email the email of the user the token was issued to.
+ * @param exp the expiry of the token, in epoch seconds.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record IntrospectionResult(
+        boolean active,
+        String sub,
+        String jti,
+        String role,
+        String email,
+        Long exp) {
+
+    /**
+     * The shared result of every token that did not pass verification.
+     */
+    public static final IntrospectionResult INACTIVE = new IntrospectionResult(false, null, null, null, null, null);
+}
@@ -4,17 +4,20 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 
 /**
- * Represents the response returned after a successful login attempt.
- * Contains the JWT token and its expiry time.
+ * Represents the response returned after a successful login attempt or token refresh.
+ * Contains the JWT token and its expiry time, along with the refresh token used to obtain the next
+ * pair of tokens without logging in again.
  *
  * @author Arthur Artugue
  * @version 1.0
  * @since 2024-12-24
- * @modified 2024-12-24
+ * @modified 2026-10-17
  */
 @Data
 @AllArgsConstructor
 public class LoginResponse {
     private String token;
     private long expiry;
+    private String refresh_token;
+    private long refresh_expiry;
 }
@@ -1,25 +1,98 @@
 package com.example.keyspring.model.response;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
 
-@Data
-@AllArgsConstructor
 /**
  * Represents a generic response structure used throughout the application.
  * Contains a status code, a message, and optional data.
+ * <p>
+ * Responses are immutable. Responses that never vary, such as most error responses, are created once
+ * through {@link #prepared(ResponseStatus, String)}. Their body is serialized the first time they are
+ * written, with the application's {@code ObjectMapper}, and then written as is, without going through
+ * Jackson on every request.
  *
- * @param status The status code of the response (e.g., "200" for success, "400" for bad request).
+ * @param status The status of the response, mapped to the HTTP status it is returned with.
  * @param message A message providing additional information about the response.
  * @param data Optional data associated with the response.
  *
  * @author Arthur Artugue
  * @version 1.0
  * @since 2024-12-23
- * @modified 2024-12-24
+ * @modified 2026-10-17
  */
+@Getter
 public class Response {
-    private String status;
-    private String message;
-    private Object data;
+
+    private final ResponseStatus status;
+    private final String message;
+    private final Object data;
+
+    @Getter(onMethod_ = @JsonIgnore)
+    private final boolean prepared;
+
+    // Filled on the first write; concurrent first writes may serialize twice, with the same result
+    @Getter(onMethod_ = @JsonIgnore)
+    private volatile byte[] preparedBody;
+
+    /**
+     * Creates a response that is serialized when it is written.
+     *
+     * @param status The status of the response.
+     * @param message The message of the response.
+     * @param data Optional data associated with the response, may be null.
+     */
+    public Response(ResponseStatus status, String message, Object data) {
+        this(status, message, data, false);
+    }
+
+    private Response(ResponseStatus status, String message, Object data, boolean prepared) {
+        this.status = status;
+        this.message = message;
+        this.data = data;
+        this.prepared = prepared;
+    }
+
+    /**
+     * Creates a constant response without data that is serialized only once.
+     *
+     * @param status The status of the response.
+     * @param message The message of the response.
+     * @return the prepared response.
+     */
+    public static Response prepared(ResponseStatus status, String message) {
+        return prepared(status, message, null);
+    }
+
+    /**
+     * Creates a response that is written many times and is serialized only once, e.g. to be cached.
+     *
+     * @param status The status of the response.
+     * @param message The message of the response.
+     * @param data Optional data associated with the response, may be null.
+     * @return the prepared response.
+     */
+    public static Response prepared(ResponseStatus status, String message, Object data) {
+        return new Response(status, message, data, true);
+    }
+
+    /**
+     * Returns the JSON body of a prepared response, serializing it on the first call.
+     *
+     * @param objectMapper The mapper serializing the body, the application's own when written by the web layer.
+     * @return the serialized body.
+     * @throws JsonProcessingException if the response cannot be serialized.
+     * @throws IllegalStateException if the response was not created through {@link #prepared}.
+     */
+    public byte[] preparedBody(ObjectMapper objectMapper) throws JsonProcessingException {
+        if (!prepared) throw new IllegalStateException("Only prepared responses keep their body.");
+        byte[] body = preparedBody;
+        if (body == null) {
+            body = objectMapper.writeValueAsBytes(this);
+            preparedBody = body;
+        }
+        return body;
+    }
 }
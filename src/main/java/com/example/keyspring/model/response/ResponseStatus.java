@@ -0,0 +1,46 @@
+package com.example.keyspring.model.response;
+
+import com.fasterxml.jackson.annotation.JsonValue;
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Status of a {@link Response}, mapped one to one to the HTTP status it is returned with.
+ * <p>
+ * Serialized as its numeric code (e.g. {@code "404"}), so clients see the same {@code status}
+ * field as before the status was typed.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+@Getter
+public enum ResponseStatus {
+
+    OK(HttpStatus.OK),
+    BAD_REQUEST(HttpStatus.BAD_REQUEST),
+    UNAUTHORIZED(HttpStatus.UNAUTHORIZED),
+    NOT_FOUND(HttpStatus.NOT_FOUND),
+    CONFLICT(HttpStatus.CONFLICT),
+    LOCKED(HttpStatus.LOCKED),
+    TOO_MANY_REQUESTS(HttpStatus.TOO_MANY_REQUESTS),
+    INTERNAL_SERVER_ERROR(HttpStatus.INTERNAL_SERVER_ERROR),
+    SERVICE_UNAVAILABLE(HttpStatus.SERVICE_UNAVAILABLE);
+
+    private final HttpStatus httpStatus;
+    private final String code;
+
+    ResponseStatus(HttpStatus httpStatus) {
+        this.httpStatus = httpStatus;
+        this.code = String.valueOf(httpStatus.value());
+    }
+
+    /**
+     * @return the numeric code of the status, e.g. {@code "404"}.
+     */
+    @JsonValue
+    public String getCode() {
+        return code;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.keyspring.model.response;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+/**
+ * The profile of a user, as returned to the user themselves.
+ *
+ * @param uniqueId the unique ID of the user.
+ * @param email the email address of the user.
+ * @param firstName the first name of the user.
+ * @param lastName the last name of the user.
+ * @param phoneNumber the phone number of the user, may be null.
+ * @param role the role of the user.
+ * @param authProvider the provider the user registered with.
+ * @param verified whether the user has verified their email address.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+public record UserProfileResponse(
+        @JsonProperty("unique_id") String uniqueId,
+        String email,
+        @JsonProperty("first_name") String firstName,
+        @JsonProperty("last_name") String lastName,
+        @JsonProperty("phone_number") String phoneNumber,
+        String role,
+        @JsonProperty("auth_provider") String authProvider,
+        @JsonProperty("is_verified") boolean verified) {
+}
@@ -0,0 +1,34 @@
+package com.example.keyspring.model.view;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of the columns needed to verify a password login and issue tokens.
+ * Loaded through a constructor expression, so no {@code User} entity is hydrated or tracked.
+ *
+ * @param id the primary key of the user.
+ * @param uniqueId the unique ID of the user.
+ * @param email the email address of the user.
+ * @param firstName the first name of the user.
+ * @param lastName the last name of the user.
+ * @param password the stored Argon2 password hash.
+ * @param role the role of the user.
+ * @param failedLoginAttempts the stored number of consecutive failed logins, may be null.
+ * @param accountLockedUntil the stored time until which logins are refused, may be null.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+public record LoginCredentialView(
+        Long id,
+        String uniqueId,
+        String email,
+        String firstName,
+        String lastName,
+        String password,
+        String role,
+        Integer failedLoginAttempts,
+        LocalDateTime accountLockedUntil) {
+}
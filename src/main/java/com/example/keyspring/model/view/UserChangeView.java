@@ -0,0 +1,18 @@
+package com.example.keyspring.model.view;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of a recently updated user, used to keep node-local caches of users current.
+ *
+ * @param uniqueId the unique ID of the user.
+ * @param email the normalized email address of the user.
+ * @param updatedAt the time the user was last updated.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+public record UserChangeView(String uniqueId, String email, LocalDateTime updatedAt) {
+}
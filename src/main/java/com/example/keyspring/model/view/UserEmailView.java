@@ -0,0 +1,15 @@
+package com.example.keyspring.model.view;
+
+/**
+ * Read-only view of the normalized email address of a user, used to build the registered email filter.
+ *
+ * @param id the primary key of the user.
+ * @param email the normalized email address of the user.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+public record UserEmailView(Long id, String email) {
+}
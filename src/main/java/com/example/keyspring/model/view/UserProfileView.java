@@ -0,0 +1,24 @@
+package com.example.keyspring.model.view;
+
+/**
+ * Read-only view of the public profile of a user.
+ * Loaded through a constructor expression, so no {@code User} entity is hydrated or tracked.
+ *
+ * @param uniqueId the unique ID of the user.
+ * @param email the email address of the user.
+ * @param firstName the first name of the user.
+ * @param lastName the last name of the user.
+ * @param role the role of the user.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+public record UserProfileView(
+        String uniqueId,
+        String email,
+        String firstName,
+        String lastName,
+        String role) {
+}
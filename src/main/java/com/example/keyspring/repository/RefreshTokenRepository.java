@@ -0,0 +1,124 @@
+package com.example.keyspring.repository;
+
+import com.example.keyspring.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Repository interface for managing {@link RefreshToken} entities.
+ * <p>
+ * Tokens are looked up by their SHA-256 digest through the unique index on {@code token_hash}.
+ * Consuming a token marks it used and returns what is needed to issue the next pair of tokens
+ * in a single statement, so a refresh never loads the user separately.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    /**
+     * The columns returned when a refresh token is consumed.
+     */
+    interface ConsumedRefreshToken {
+        UUID getFamily_id();
+        Long getUser_id();
+        String getUnique_id();
+        String getEmail();
+        String getFirst_name();
+        String getLast_name();
+        String getRole();
+    }
+
+    /**
+     * Records a newly issued refresh token.
+     *
+     * @param tokenHash the SHA-256 digest of the token, hex encoded.
+     * @param userId the ID of the user the token was issued to.
+     * @param familyId the family of tokens rotated from the same login.
+     * @param expiresAt the expiry of the token.
+     * @return the number of inserted rows.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO refresh_tokens (token_hash, user_id, family_id, expires_at) VALUES (?1, ?2, ?3, ?4)",
+            nativeQuery = true)
+    int insert(String tokenHash, Long userId, UUID familyId, LocalDateTime expiresAt);
+
+    /**
+     * Marks an unused, unrevoked and unexpired refresh token as used and returns its owner.
+     * Concurrent attempts to consume the same token are serialized on its row, so only one succeeds.
+     *
+     * @param tokenHash the SHA-256 digest of the token, hex encoded.
+     * @param now the current time.
+     * @return the consumed token and its owner, or empty if the token cannot be used.
+     */
+    @Transactional
+    @Query(value = "UPDATE refresh_tokens r SET used_at = ?2 FROM users u "
+            + "WHERE r.token_hash = ?1 AND r.used_at IS NULL AND r.revoked = FALSE AND r.expires_at > ?2 AND u.id = r.user_id "
+            + "RETURNING r.family_id AS family_id, r.user_id AS user_id, u.unique_id AS unique_id, u.email AS email, "
+            + "u.first_name AS first_name, u.last_name AS last_name, u.role AS role",
+            nativeQuery = true)
+    Optional<ConsumedRefreshToken> consume(String tokenHash, LocalDateTime now);
+
+    /**
+     * Revokes every token in the family of a token that has already been used.
+     *
+     * @param tokenHash the SHA-256 digest of the presented token, hex encoded.
+     * @return the number of revoked tokens, 0 if the token was never used or does not exist.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE refresh_tokens SET revoked = TRUE WHERE revoked = FALSE AND family_id IN "
+            + "(SELECT family_id FROM refresh_tokens WHERE token_hash = ?1 AND used_at IS NOT NULL)",
+            nativeQuery = true)
+    int revokeFamilyOfUsed(String tokenHash);
+
+    /**
+     * Revokes every token in the family of a token, if the token belongs to the given user.
+     *
+     * @param tokenHash the SHA-256 digest of the token, hex encoded.
+     * @param uniqueId the unique ID of the user the token must belong to.
+     * @return the number of revoked tokens, 0 if the token does not exist or belongs to another user.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE refresh_tokens SET revoked = TRUE WHERE revoked = FALSE "
+            + "AND user_id = (SELECT id FROM users WHERE unique_id = ?2) AND family_id IN "
+            + "(SELECT family_id FROM refresh_tokens WHERE token_hash = ?1 "
+            + "AND user_id = (SELECT id FROM users WHERE unique_id = ?2))",
+            nativeQuery = true)
+    int revokeFamily(String tokenHash, String uniqueId);
+
+    /**
+     * Revokes every refresh token of a user, e.g. after their password was reset.
+     *
+     * @param userId the ID of the user.
+     * @return the number of revoked tokens.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE refresh_tokens SET revoked = TRUE WHERE user_id = ?1 AND revoked = FALSE",
+            nativeQuery = true)
+    int revokeAllOfUser(Long userId);
+
+    /**
+     * Deletes expired refresh tokens.
+     *
+     * @param now the current time.
+     * @return the number of deleted rows.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RefreshToken r WHERE r.expires_at <= ?1")
+    int deleteExpired(LocalDateTime now);
+}
@@ -0,0 +1,61 @@
+package com.example.keyspring.repository;
+
+import com.example.keyspring.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for managing {@link RevokedToken} entities.
+ * <p>
+ * This interface extends {@link JpaRepository} and backs the in-memory denylist kept by
+ * {@code TokenRevocationService}; it is only queried at startup, by the periodic sync and by the sweeper.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, String> {
+
+    /**
+     * Records a revoked token. Revoking the same token twice is a no-op.
+     *
+     * @param jti the ID of the revoked token.
+     * @param expiresAt the expiry of the revoked token.
+     * @return the number of inserted rows.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO revoked_tokens (jti, expires_at) VALUES (?1, ?2) ON CONFLICT (jti) DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(String jti, LocalDateTime expiresAt);
+
+    /**
+     * Finds the revocations recorded after the given time that have not expired yet.
+     *
+     * @param revokedAfter only revocations recorded after this time are returned.
+     * @param now the current time, revocations expiring before it are skipped.
+     * @return the matching {@link RevokedToken}s.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT r FROM RevokedToken r WHERE r.revoked_at > ?1 AND r.expires_at > ?2")
+    List<RevokedToken> findActiveRevokedAfter(LocalDateTime revokedAfter, LocalDateTime now);
+
+    /**
+     * Deletes the revocations of tokens that have expired.
+     *
+     * @param now the current time.
+     * @return the number of deleted rows.
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM RevokedToken r WHERE r.expires_at <= ?1")
+    int deleteExpired(LocalDateTime now);
+}
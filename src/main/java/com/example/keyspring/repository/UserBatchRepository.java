@@ -0,0 +1,46 @@
+package com.example.keyspring.repository;
+
+import com.example.keyspring.model.LoginAttempts;
+import com.example.keyspring.model.NewUser;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Custom repository fragment for bulk writes to the users table that bypass the persistence context.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+public interface UserBatchRepository {
+
+    /**
+     * Inserts users in a single JDBC batch, skipping those whose email address is already taken.
+     * A failing row rolls back the whole batch.
+     *
+     * @param users the users to insert.
+     * @return for each user, in order, true if it was inserted or false if its email address was taken.
+     */
+    boolean[] insertAllIfEmailAbsent(List<NewUser> users);
+
+    /**
+     * Writes the lockout state of many accounts with a single {@code UPDATE ... FROM (VALUES ...)} statement.
+     * A stored lock that has not run out yet is never shortened or cleared.
+     *
+     * @param attempts the lockout state to write, at most one entry per account.
+     * @return the number of updated rows.
+     */
+    int updateLoginAttempts(List<LoginAttempts> attempts);
+
+    /**
+     * Writes the last login time of many users with a single {@code UPDATE ... FROM (VALUES ...)} statement.
+     * A stored time is never moved backwards.
+     *
+     * @param lastLogins the last login time per user ID.
+     * @return the number of updated rows.
+     */
+    int updateLastLoginAt(Map<Long, LocalDateTime> lastLogins);
+}
@@ -0,0 +1,158 @@
+package com.example.keyspring.repository;
+
+import com.example.keyspring.model.LoginAttempts;
+import com.example.keyspring.model.NewUser;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * {@link JdbcTemplate} implementation of {@link UserBatchRepository}.
+ * <p>
+ * Inserts are sent as one JDBC batch per call and conflicts on either email unique index are
+ * reported through the per-statement update counts instead of failing the whole batch. When the driver
+ * reports {@link Statement#SUCCESS_NO_INFO} instead of a count, e.g. for rewritten batches, the stored
+ * password hash of each such user tells whether its row was the one inserted. Updates join
+ * the users table against a {@code VALUES} list, so many rows change with a single statement.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+public class UserBatchRepositoryImpl implements UserBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO users (prefix, email, password, first_name, last_name, phone_number) "
+            + "VALUES (?, ?, ?, ?, ?, ?) ON CONFLICT DO NOTHING";
+    private static final String SELECT_PASSWORDS_SQL = "SELECT lower(email) AS email, password FROM users "
+            + "WHERE lower(email) IN (%s)";
+    // A running lock is only ever extended, so a node that did not set it cannot clear it
+    private static final String UPDATE_LOGIN_ATTEMPTS_SQL = "UPDATE users AS u "
+            + "SET failed_login_attempts = v.failed_attempts, account_locked_until = CASE "
+            + "WHEN u.account_locked_until > LOCALTIMESTAMP THEN GREATEST(u.account_locked_until, v.locked_until) "
+            + "ELSE v.locked_until END "
+            + "FROM (VALUES %s) AS v(email, failed_attempts, locked_until) WHERE lower(u.email) = v.email";
+    private static final String LOGIN_ATTEMPTS_ROW = "(?, CAST(? AS INTEGER), CAST(? AS TIMESTAMP))";
+    private static final String UPDATE_LAST_LOGIN_SQL = "UPDATE users AS u SET last_login_at = v.last_login_at "
+            + "FROM (VALUES %s) AS v(id, last_login_at) "
+            + "WHERE u.id = v.id AND (u.last_login_at IS NULL OR u.last_login_at < v.last_login_at)";
+    private static final String LAST_LOGIN_ROW = "(CAST(? AS BIGINT), CAST(? AS TIMESTAMP))";
+    // Keeps each statement well below the 65535 bind parameters a single Postgres statement accepts
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public UserBatchRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public boolean[] insertAllIfEmailAbsent(List<NewUser> users) {
+        int[] counts = jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+                NewUser user = users.get(i);
+                statement.setString(1, user.prefix());
+                statement.setString(2, user.email());
+                statement.setString(3, user.passwordHash());
+                statement.setString(4, user.firstName());
+                statement.setString(5, user.lastName());
+                statement.setString(6, user.phoneNumber());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return users.size();
+            }
+        });
+
+        boolean[] inserted = new boolean[counts.length];
+        List<Integer> unknown = new ArrayList<>();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] == Statement.SUCCESS_NO_INFO) unknown.add(i);
+            else inserted[i] = counts[i] > 0;
+        }
+        if (!unknown.isEmpty()) resolveInserted(users, unknown, inserted);
+        return inserted;
+    }
+
+    /**
+     * Decides for users without an update count whether they were inserted, by comparing the password
+     * hash stored for their email with their own. Runs in the inserting transaction, so it sees the new rows.
+     */
+    private void resolveInserted(List<NewUser> users, List<Integer> unknown, boolean[] inserted) {
+        for (int from = 0; from < unknown.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<Integer> chunk = unknown.subList(from, Math.min(unknown.size(), from + MAX_ROWS_PER_STATEMENT));
+            Object[] emails = chunk.stream().map(i -> users.get(i).email().toLowerCase(Locale.ROOT)).toArray();
+            String sql = SELECT_PASSWORDS_SQL.formatted(String.join(", ", Collections.nCopies(emails.length, "lower(?)")));
+
+            Map<String, String> stored = new HashMap<>();
+            jdbcTemplate.query(sql, row -> {
+                stored.put(row.getString("email"), row.getString("password"));
+            }, emails);
+            for (int i : chunk) {
+                NewUser user = users.get(i);
+                // Removed once matched, so a later duplicate of the same row counts as a conflict
+                inserted[i] = stored.remove(user.email().toLowerCase(Locale.ROOT), user.passwordHash());
+            }
+        }
+    }
+
+    @Override
+    @Transactional
+    public int updateLoginAttempts(List<LoginAttempts> attempts) {
+        return updateFromValues(UPDATE_LOGIN_ATTEMPTS_SQL, LOGIN_ATTEMPTS_ROW, attempts, (row, parameters) -> {
+            parameters.add(row.email());
+            parameters.add(row.failedAttempts());
+            parameters.add(row.lockedUntil() == null ? null : Timestamp.valueOf(row.lockedUntil()));
+        });
+    }
+
+    @Override
+    @Transactional
+    public int updateLastLoginAt(Map<Long, LocalDateTime> lastLogins) {
+        return updateFromValues(UPDATE_LAST_LOGIN_SQL, LAST_LOGIN_ROW, List.copyOf(lastLogins.entrySet()), (row, parameters) -> {
+            parameters.add(row.getKey());
+            parameters.add(Timestamp.valueOf(row.getValue()));
+        });
+    }
+
+    /**
+     * Runs an {@code UPDATE ... FROM (VALUES %s)} statement for the given rows, splitting them into as
+     * few statements as the bind parameter limit allows.
+     *
+     * @param sql the statement, with {@code %s} standing for the value rows.
+     * @param rowTemplate the placeholder of one value row.
+     * @param rows the rows to bind.
+     * @param binder adds the parameters of one row, in placeholder order.
+     * @return the number of updated rows.
+     */
+    private <T> int updateFromValues(String sql, String rowTemplate, List<T> rows, BiConsumer<T, List<Object>> binder) {
+        int updated = 0;
+        for (int from = 0; from < rows.size(); from += MAX_ROWS_PER_STATEMENT) {
+            List<T> chunk = rows.subList(from, Math.min(rows.size(), from + MAX_ROWS_PER_STATEMENT));
+            String values = String.join(", ", Collections.nCopies(chunk.size(), rowTemplate));
+
+            List<Object> parameters = new ArrayList<>();
+            for (T row : chunk) {
+                binder.accept(row, parameters);
+            }
+            updated += jdbcTemplate.update(sql.formatted(values), parameters.toArray());
+        }
+        return updated;
+    }
+}
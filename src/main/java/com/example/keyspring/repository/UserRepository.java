@@ -1,34 +1,60 @@
 package com.example.keyspring.repository;
 
 import com.example.keyspring.model.User;
+import com.example.keyspring.model.view.LoginCredentialView;
+import com.example.keyspring.model.view.UserChangeView;
+import com.example.keyspring.model.view.UserEmailView;
+import com.example.keyspring.model.view.UserProfileView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for managing {@link User} entities.
  * <p>
  * This interface extends {@link JpaRepository} to provide CRUD operations and custom query methods
  * for the {@link User} entity.
+ * <p>
+ * The login and token lookup paths use the read-only {@link LoginCredentialView} and {@link UserProfileView}
+ * projections instead, which select only the columns they need and leave nothing in the persistence context.
+ * <p>
+ * Emails are matched on {@code lower(email)}, backed by a unique expression index, and must be passed
+ * in the canonical form produced by {@code ValidationUtils.normalizeEmail}.
  *
  * @author Arthur Artugue
  * @version 1.0
  * @since 2024-12-21
- * @modified 2024-12-24
+ * @modified 2026-10-17
  */
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
+public interface UserRepository extends JpaRepository<User, Long>, UserBatchRepository {
+
+    /**
+     * The columns returned when a password reset token is consumed.
+     */
+    interface PasswordResetUser {
+        Long getId();
+        String getEmail();
+    }
 
     /**
      * Finds a user by their email address.
      *
-     * @param email the email address to search for.
+     * @param email the normalized email address to search for.
      * @return an {@link Optional} containing the found {@link User}, or empty if no user is found.
      */
-    @Query("SELECT u FROM User u WHERE u.email = ?1")
+    @Query("SELECT u FROM User u WHERE lower(u.email) = ?1")
     Optional<User> findByEmail(String email);
 
     /**
@@ -57,4 +83,181 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     @Query("SELECT u FROM User u WHERE u.unique_id = ?1")
     Optional<User> findByUniqueId(String uniqueId);
+
+    /**
+     * Inserts a user unless the email address is already taken, in a single round trip.
+     *
+     * @param prefix the prefix of the generated unique ID.
+     * @param email the normalized email address of the user.
+     * @param password the hashed password of the user.
+     * @param firstName the first name of the user.
+     * @param lastName the last name of the user.
+     * @param phoneNumber the phone number of the user, may be null.
+     * @return an {@link Optional} containing the generated unique ID, or empty if the email address is taken.
+     */
+    // No conflict target: both the case-sensitive email constraint and the lower(email) index must be
+    // arbiters, or a concurrent insert of the same exact email raises a unique violation
+    @Transactional
+    @Query(value = "INSERT INTO users (prefix, email, password, first_name, last_name, phone_number) "
+            + "VALUES (?1, ?2, ?3, ?4, ?5, ?6) ON CONFLICT DO NOTHING RETURNING unique_id",
+            nativeQuery = true)
+    Optional<String> insertIfEmailAbsent(
+            String prefix,
+            String email,
+            String password,
+            String firstName,
+            String lastName,
+            String phoneNumber);
+
+    /**
+     * Finds the credentials needed to verify a login by email address.
+     *
+     * @param email the normalized email address to search for.
+     * @return an {@link Optional} containing the {@link LoginCredentialView}, or empty if no user is found.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.example.keyspring.model.view.LoginCredentialView("
+            + "u.id, u.unique_id, u.email, u.first_name, u.last_name, u.password, u.role, "
+            + "u.failed_login_attempts, u.account_locked_until) "
+            + "FROM User u WHERE lower(u.email) = ?1")
+    Optional<LoginCredentialView> findLoginCredentialsByEmail(String email);
+
+    /**
+     * Finds the profile of a user by their unique ID.
+     *
+     * @param uniqueId the unique ID to search for.
+     * @return an {@link Optional} containing the {@link UserProfileView}, or empty if no user is found.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.example.keyspring.model.view.UserProfileView("
+            + "u.unique_id, u.email, u.first_name, u.last_name, u.role) "
+            + "FROM User u WHERE u.unique_id = ?1")
+    Optional<UserProfileView> findProfileByUniqueId(String uniqueId);
+
+    /**
+     * Finds the normalized email addresses of the users after the given ID, in ID order.
+     * Walking the table with the last ID of each page reads it in constant memory without holding a cursor open.
+     *
+     * @param afterId only users with a greater ID are returned.
+     * @param page the page size; only the first page is used.
+     * @return the matching {@link UserEmailView}s.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.example.keyspring.model.view.UserEmailView(u.id, lower(u.email)) "
+            + "FROM User u WHERE u.id > ?1 ORDER BY u.id")
+    List<UserEmailView> findEmailsAfter(Long afterId, Pageable page);
+
+    /**
+     * Streams every user in ID order through a server-side cursor.
+     * <p>
+     * Rows are fetched from the database in chunks rather than all at once and loaded read-only, so no
+     * snapshots are kept for dirty checking. The stream must be consumed inside a transaction and closed
+     * afterwards, and callers should detach the users they are done with.
+     *
+     * @return a {@link Stream} of all {@link User}s.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @Query("SELECT u FROM User u ORDER BY u.id")
+    Stream<User> streamAll();
+
+    /**
+     * Replaces a user's password hash, but only if it still equals the hash that was verified.
+     * <p>
+     * Used to upgrade hashes to the current Argon2 parameters without overwriting a password
+     * that was changed concurrently.
+     *
+     * @param id the ID of the user.
+     * @param currentHash the hash the caller verified against.
+     * @param newHash the replacement hash.
+     * @return the number of updated rows.
+     */
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = ?3 WHERE u.id = ?1 AND u.password = ?2")
+    int updatePasswordHash(Long id, String currentHash, String newHash);
+
+    /**
+     * Finds the users updated after the given time, backed by the index on {@code updated_at}.
+     *
+     * @param since only users updated later are returned.
+     * @return the matching {@link UserChangeView}s.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.example.keyspring.model.view.UserChangeView(u.unique_id, lower(u.email), u.updated_at) "
+            + "FROM User u WHERE u.updated_at > ?1")
+    List<UserChangeView> findChangedSince(LocalDateTime since);
+
+    /**
+     * @return the most recent {@code updated_at} of any user, or null if there are no users.
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT max(u.updated_at) FROM User u")
+    LocalDateTime findLatestUpdate();
+
+    /**
+     * Stores the digest of a new password reset token for a user, unless the user's current token
+     * was issued too recently to be replaced.
+     *
+     * @param email the normalized email address of the user.
+     * @param tokenHash the SHA-256 digest of the token, hex encoded.
+     * @param expiresAt the expiry of the token.
+     * @param replaceableUntil a current token expiring after this time is kept and no new token is stored.
+     * @return the number of updated rows, 0 if no user has the email address or their token is too recent.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE users SET password_reset_token = ?2, reset_token_expires_at = ?3 WHERE lower(email) = ?1 "
+            + "AND (password_reset_token IS NULL OR reset_token_expires_at IS NULL OR reset_token_expires_at <= ?4)",
+            nativeQuery = true)
+    int storePasswordResetToken(String email, String tokenHash, LocalDateTime expiresAt, LocalDateTime replaceableUntil);
+
+    /**
+     * Checks whether a password reset token is known and unexpired, through the partial unique index
+     * on {@code password_reset_token}.
+     *
+     * @param tokenHash the SHA-256 digest of the token, hex encoded.
+     * @param now the current time.
+     * @return true if the token can be used, false otherwise.
+     */
+    @Transactional(readOnly = true)
+    @Query(value = "SELECT EXISTS (SELECT 1 FROM users WHERE password_reset_token = ?1 AND reset_token_expires_at > ?2)",
+            nativeQuery = true)
+    boolean existsValidPasswordResetToken(String tokenHash, LocalDateTime now);
+
+    /**
+     * Replaces the password of the user holding an unexpired reset token, clears the token and lifts
+     * any login lockout. Concurrent attempts to use the same token are serialized on its row, so only
+     * one succeeds.
+     *
+     * @param tokenHash the SHA-256 digest of the token, hex encoded.
+     * @param passwordHash the hash of the new password.
+     * @param now the current time.
+     * @return an {@link Optional} containing the user whose password was reset, or empty if the token cannot be used.
+     */
+    @Transactional
+    @Query(value = "UPDATE users SET password = ?2, password_reset_token = NULL, reset_token_expires_at = NULL, "
+            + "failed_login_attempts = 0, account_locked_until = NULL "
+            + "WHERE password_reset_token = ?1 AND reset_token_expires_at > ?3 RETURNING id, lower(email) AS email",
+            nativeQuery = true)
+    Optional<PasswordResetUser> consumePasswordResetToken(String tokenHash, String passwordHash, LocalDateTime now);
+
+    /**
+     * Clears up to {@code limit} expired password reset tokens in one short transaction.
+     * <p>
+     * The rows are found through the partial index on {@code reset_token_expires_at} and rows locked by
+     * other transactions are skipped, so a sweep never waits on, or blocks, logins and profile updates.
+     *
+     * @param now the current time.
+     * @param limit the most rows to clear.
+     * @return the number of cleared rows; fewer than {@code limit} once no expired tokens are left.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE users SET password_reset_token = NULL, reset_token_expires_at = NULL WHERE id IN "
+            + "(SELECT id FROM users WHERE password_reset_token IS NOT NULL AND reset_token_expires_at <= ?1 "
+            + "LIMIT ?2 FOR UPDATE SKIP LOCKED)",
+            nativeQuery = true)
+    int clearExpiredPasswordResetTokens(LocalDateTime now, int limit);
 }
@@ -0,0 +1,130 @@
+package com.example.keyspring.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+
+import java.util.Arrays;
+
+/**
+ * Benchmarks Argon2id on the current machine and picks cost parameters that hit a target verify latency.
+ * <p>
+ * The memory cost given as a starting point is treated as a floor. Iterations are raised until a
+ * verify takes about as long as the target; when the iteration cap is reached, memory is doubled
+ * instead (up to the given ceiling) so the extra budget still buys resistance against GPU attacks.
+ * Calibration never goes below the starting parameters, even when the machine is slower than the target.
+ * </p>
+ * The calibrator runs at startup when {@code keyspring.argon2.mode=calibrate}, or standalone through
+ * the {@code calibrateArgon2} Gradle task, which prints the chosen parameters as properties.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+public final class Argon2Calibrator {
+
+    private static final Logger logger = LoggerFactory.getLogger(Argon2Calibrator.class);
+    private static final String SAMPLE_PASSWORD = "Calibration-Sample#2024";
+    private static final int SAMPLES = 5;
+
+    private Argon2Calibrator() {
+    }
+
+    /**
+     * Picks Argon2 parameters whose verify time is as close as possible to, without exceeding, the target.
+     *
+     * @param base the starting parameters, also used as the lower bound.
+     * @param targetMillis the target verify latency in milliseconds.
+     * @param maxMemoryKiB the largest memory cost that may be chosen.
+     * @param maxIterations the largest number of iterations that may be chosen.
+     * @return the calibrated parameters.
+     */
+    public static Argon2Settings calibrate(Argon2Settings base, long targetMillis, int maxMemoryKiB, int maxIterations) {
+        Argon2Settings best = base;
+        double bestMillis = measure(base);
+        logger.info("Argon2 calibration baseline m={} t={} p={} took {} ms",
+                base.memoryKiB(), base.iterations(), base.parallelism(), String.format("%.1f", bestMillis));
+
+        if (bestMillis >= targetMillis) {
+            logger.warn("Argon2 baseline already exceeds the {} ms target, keeping the baseline parameters", targetMillis);
+            return best;
+        }
+
+        Argon2Settings candidate = base;
+        double candidateMillis = bestMillis;
+        while (true) {
+            // Cost grows roughly linearly in iterations, so estimate instead of stepping one by one
+            int estimated = (int) Math.floor(candidate.iterations() * (targetMillis / candidateMillis));
+            int iterations = Math.min(Math.max(estimated, candidate.iterations()), maxIterations);
+            Argon2Settings next = candidate.withIterations(iterations);
+            double nextMillis = measure(next);
+            while (nextMillis > targetMillis && next.iterations() > candidate.iterations()) {
+                next = next.withIterations(next.iterations() - 1);
+                nextMillis = measure(next);
+            }
+            if (nextMillis <= targetMillis) {
+                best = next;
+                bestMillis = nextMillis;
+            }
+
+            // Out of iterations budget but still under target, spend the rest on memory
+            if (next.iterations() < maxIterations || next.memoryKiB() * 2 > maxMemoryKiB) break;
+            candidate = next.withMemoryKiB(next.memoryKiB() * 2).withIterations(base.iterations());
+            candidateMillis = measure(candidate);
+            if (candidateMillis > targetMillis) break;
+            best = candidate;
+            bestMillis = candidateMillis;
+        }
+
+        logger.info("Argon2 calibrated to m={} t={} p={} ({} ms, target {} ms)",
+                best.memoryKiB(), best.iterations(), best.parallelism(), String.format("%.1f", bestMillis), targetMillis);
+        return best;
+    }
+
+    /**
+     * Measures the median verify time of the given parameters.
+     *
+     * @param settings the parameters to measure.
+     * @return the median verify time in milliseconds.
+     */
+    static double measure(Argon2Settings settings) {
+        Argon2PasswordEncoder encoder = settings.toEncoder();
+        String hash = encoder.encode(SAMPLE_PASSWORD);
+        encoder.matches(SAMPLE_PASSWORD, hash);
+
+        long[] samples = new long[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            encoder.matches(SAMPLE_PASSWORD, hash);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        return samples[SAMPLES / 2] / 1_000_000.0;
+    }
+
+    /**
+     * Runs a calibration from the command line and prints the result as properties.
+     * <p>
+     * Arguments, all optional: target verify latency in ms, parallelism, starting memory in KiB,
+     * maximum memory in KiB and maximum iterations.
+     * </p>
+     *
+     * @param args the command line arguments.
+     */
+    public static void main(String[] args) {
+        long targetMillis = args.length > 0 ? Long.parseLong(args[0]) : 100;
+        int parallelism = args.length > 1 ? Integer.parseInt(args[1]) : Argon2Settings.SPRING_SECURITY_V5_8.parallelism();
+        int memoryKiB = args.length > 2 ? Integer.parseInt(args[2]) : Argon2Settings.SPRING_SECURITY_V5_8.memoryKiB();
+        int maxMemoryKiB = args.length > 3 ? Integer.parseInt(args[3]) : 1 << 18;
+        int maxIterations = args.length > 4 ? Integer.parseInt(args[4]) : 10;
+
+        Argon2Settings base = new Argon2Settings(
+                Argon2Settings.SPRING_SECURITY_V5_8.saltLength(),
+                Argon2Settings.SPRING_SECURITY_V5_8.hashLength(),
+                parallelism,
+                memoryKiB,
+                Argon2Settings.SPRING_SECURITY_V5_8.iterations());
+        System.out.print(calibrate(base, targetMillis, maxMemoryKiB, maxIterations).toProperties());
+    }
+}
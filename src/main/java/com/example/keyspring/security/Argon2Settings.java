@@ -0,0 +1,108 @@
+package com.example.keyspring.security;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+
+/**
+ * Immutable set of Argon2id cost parameters used to build the application's password encoder.
+ * <p>
+ * Besides building the encoder, the settings can tell whether a stored hash was produced with
+ * different parameters, which is what drives the rehash-on-login upgrade in {@code AuthService}.
+ * </p>
+ *
+ * @param saltLength the salt length in bytes.
+ * @param hashLength the hash length in bytes.
+ * @param parallelism the number of lanes.
+ * @param memoryKiB the memory cost in kibibytes.
+ * @param iterations the number of passes over memory.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+public record Argon2Settings(int saltLength, int hashLength, int parallelism, int memoryKiB, int iterations) {
+
+    /**
+     * The parameters used by {@link Argon2PasswordEncoder#defaultsForSpringSecurity_v5_8()}.
+     */
+    public static final Argon2Settings SPRING_SECURITY_V5_8 = new Argon2Settings(16, 32, 1, 1 << 14, 2);
+
+    /**
+     * Returns a copy of these settings with a different memory cost.
+     *
+     * @param memoryKiB the new memory cost in kibibytes.
+     * @return the updated settings.
+     */
+    public Argon2Settings withMemoryKiB(int memoryKiB) {
+        return new Argon2Settings(saltLength, hashLength, parallelism, memoryKiB, iterations);
+    }
+
+    /**
+     * Returns a copy of these settings with a different number of iterations.
+     *
+     * @param iterations the new number of iterations.
+     * @return the updated settings.
+     */
+    public Argon2Settings withIterations(int iterations) {
+        return new Argon2Settings(saltLength, hashLength, parallelism, memoryKiB, iterations);
+    }
+
+    /**
+     * Builds an encoder that hashes with these settings.
+     *
+     * @return a new {@link Argon2PasswordEncoder}.
+     */
+    public Argon2PasswordEncoder toEncoder() {
+        return new Argon2PasswordEncoder(saltLength, hashLength, parallelism, memoryKiB, iterations);
+    }
+
+    /**
+     * Checks whether a stored hash was produced with parameters other than these settings.
+     * <p>
+     * Hashes look like {@code $argon2id$v=19$m=16384,t=2,p=1$<salt>$<hash>}; only the cost section is
+     * inspected, so no decoding of the salt or hash is needed. Anything that cannot be read is reported
+     * as needing a rehash.
+     * </p>
+     *
+     * @param encodedPassword the stored hash.
+     * @return true if the hash should be re-encoded with these settings, false otherwise.
+     */
+    public boolean needsRehash(String encodedPassword) {
+        if (encodedPassword == null || !encodedPassword.startsWith("$argon2id$")) return true;
+
+        int costStart = encodedPassword.indexOf('$', "$argon2id$".length());
+        if (costStart < 0) return true;
+        int costEnd = encodedPassword.indexOf('$', costStart + 1);
+        if (costEnd < 0) return true;
+
+        int memory = -1, time = -1, lanes = -1;
+        for (String part : encodedPassword.substring(costStart + 1, costEnd).split(",")) {
+            if (part.length() < 3 || part.charAt(1) != '=') return true;
+            int value;
+            try {
+                value = Integer.parseInt(part, 2, part.length(), 10);
+            } catch (NumberFormatException e) {
+                return true;
+            }
+            switch (part.charAt(0)) {
+                case 'm' -> memory = value;
+                case 't' -> time = value;
+                case 'p' -> lanes = value;
+                default -> { return true; }
+            }
+        }
+        return memory != memoryKiB || time != iterations || lanes != parallelism;
+    }
+
+    /**
+     * Formats these settings as {@code application.properties} entries for the fixed mode.
+     *
+     * @return the settings as properties.
+     */
+    public String toProperties() {
+        return "keyspring.argon2.mode=fixed\n"
+                + "keyspring.argon2.memory-kib=" + memoryKiB + "\n"
+                + "keyspring.argon2.iterations=" + iterations + "\n"
+                + "keyspring.argon2.parallelism=" + parallelism + "\n";
+    }
+}
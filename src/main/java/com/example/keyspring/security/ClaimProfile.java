@@ -0,0 +1,57 @@
+package com.example.keyspring.security;
+
+import java.util.Locale;
+
+/**
+ * The claims signed into access tokens, selected with {@code keyspring.token.claim-profile}.
+ * <p>
+ * An access token rides along on every request a client makes, so every claim it carries costs
+ * header bandwidth and parsing time on each of them. The compact profiles write the user's details
+ * as flat, standard claim names instead of the nested {@code User} object, never repeat the subject
+ * and drop {@code nbf}, which always equals {@code iat}. Fields a profile leaves out are available
+ * from {@code GET /api/v1/users/me}.
+ * <ul>
+ *     <li>{@link #LEGACY} - the nested {@code User} object, {@code role} and {@code nbf}, as issued by earlier versions.</li>
+ *     <li>{@link #MINIMAL} - {@code sub}, {@code jti} and {@code role} only.</li>
+ *     <li>{@link #STANDARD} - adds {@code email}.</li>
+ *     <li>{@link #FULL} - adds {@code email}, {@code given_name} and {@code family_name}.</li>
+ * </ul>
+ * Every profile carries {@code iss}, {@code exp} and {@code iat}, and tokens of every profile are
+ * accepted regardless of the profile currently configured.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+public enum ClaimProfile {
+    LEGACY,
+    MINIMAL,
+    STANDARD,
+    FULL;
+
+    /**
+     * Resolves a profile from its configured name, ignoring case.
+     *
+     * @param name the name of the profile, e.g. {@code minimal}.
+     * @return the matching {@code ClaimProfile}.
+     * @throws IllegalArgumentException if no profile has that name.
+     */
+    public static ClaimProfile of(String name) {
+        return valueOf(name.strip().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * @return true if tokens of this profile carry the email of the user.
+     */
+    public boolean includesEmail() {
+        return this != MINIMAL;
+    }
+
+    /**
+     * @return true if tokens of this profile carry the first and last name of the user.
+     */
+    public boolean includesName() {
+        return this == LEGACY || this == FULL;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.keyspring.security;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a password hashing task cannot be admitted to, or completed by, the hashing pool
+ * before its deadline. Callers are expected to translate this into a {@code 503 Service Unavailable}
+ * response with a {@code Retry-After} header instead of queueing more work.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+@Getter
+public class HashingRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int retryAfterSeconds;
+
+    /**
+     * Constructs a new {@code HashingRejectedException}.
+     *
+     * @param message the reason the task was rejected.
+     * @param retryAfterSeconds the number of seconds the client should wait before retrying.
+     */
+    public HashingRejectedException(String message, int retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
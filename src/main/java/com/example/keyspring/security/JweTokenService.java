@@ -1,41 +1,184 @@
 package com.example.keyspring.security;
 
 import com.example.keyspring.model.claim.UserClaim;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.jsonwebtoken.Claims;
-import io.jsonwebtoken.Jws;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.PrematureJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.Mac;
 import javax.crypto.SecretKey;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.util.Base64;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
 
 /**
  * Service class for handling JSON Web Encryption (JWE) token operations.
  * This class provides methods to create, read, and extract information from JWE tokens.
- * It uses a secret key for signing and verifying the tokens.
  * <p>
- * The secret key is injected from the application properties.
+ * Tokens are signed with ES256 using the active key of the {@link SigningKeyStore} and carry its
+ * {@code kid} header, so resource servers can verify them locally against the published JWK Set.
+ * Tokens signed with HS256 and the legacy {@code jwt.secret.key}, if one is still configured, keep
+ * verifying until they expire.
  * </p>
+ * The header segment of every key is serialized once at startup. Tokens carrying one of those exact
+ * headers are verified on a fast path that checks the signature and the {@code exp}/{@code nbf}
+ * claims before the claims are deserialized; anything else goes through a prebuilt, thread-safe
+ * {@link JwtParser}. Verification outcomes are reported as {@link TokenVerificationResult}s.
+ * <p>
+ * Which user details are signed into a token is decided by the configured {@link ClaimProfile}.
  *
  * @author Arthur Artugue
  * @version 1.0
  * @since 2024-12-22
- * @modified 2024-12-24
+ * @modified 2026-10-17
  */
 @Service
 public class JweTokenService {
 
-    private final SecretKey secretKey;
+    private static final Logger logger = LoggerFactory.getLogger(JweTokenService.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final TypeReference<Map<String, Object>> CLAIMS_TYPE = new TypeReference<>() {};
+    private static final Base64.Encoder BASE64URL_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder BASE64URL_DECODER = Base64.getUrlDecoder();
+    private static final String ISSUER = "key-spring";
+
+    /**
+     * Name of the claim holding the {@link UserClaim} of the token owner.
+     */
+    public static final String USER_CLAIM = "User";
 
     /**
-     * Constructs a new JweTokenService with the specified secret key.
+     * Name of the claim holding the role of the token owner.
+     */
+    public static final String ROLE_CLAIM = "role";
+
+    /**
+     * Name of the claim holding the email of the token owner in the compact claim profiles.
+     */
+    public static final String EMAIL_CLAIM = "email";
+
+    /**
+     * Name of the claim holding the first name of the token owner in the compact claim profiles.
+     */
+    public static final String GIVEN_NAME_CLAIM = "given_name";
+
+    /**
+     * Name of the claim holding the last name of the token owner in the compact claim profiles.
+     */
+    public static final String FAMILY_NAME_CLAIM = "family_name";
+
+    // ES256 signatures in JWS are the raw 64-byte r || s concatenation, not DER
+    private static final String SIGNATURE_ALGORITHM = "SHA256withECDSAinP1363Format";
+
+    private final SigningKeyStore signingKeys;
+    private final ClaimProfile claimProfile;
+    private final String headerSegment;
+    private final ThreadLocal<Signature> signer;
+    private final ThreadLocal<Signature> verifier;
+    private final Map<String, PublicKey> publicKeysByHeader = new HashMap<>();
+    private final JwtParser parser;
+
+    private final SecretKey legacyKey;
+    private final String legacyHeaderSegment;
+    private final ThreadLocal<Mac> legacyMac;
+
+    /**
+     * Constructs a new JweTokenService.
      *
-     * @param secretKeyString the secret key string used for signing and verifying tokens.
+     * @param signingKeys the keys tokens are signed and verified with.
+     * @param legacySecret the secret of previously issued HS256 tokens, or blank once none are in use.
+     * @param claimProfile the name of the {@link ClaimProfile} deciding which claims new tokens carry.
      */
-    public JweTokenService(@Value("${jwt.secret.key}") String secretKeyString) {
-        this.secretKey = Keys.hmacShaKeyFor(secretKeyString.getBytes());
+    @Autowired
+    public JweTokenService(
+            SigningKeyStore signingKeys,
+            @Value("${jwt.secret.key:}") String legacySecret,
+            @Value("${keyspring.token.claim-profile:legacy}") String claimProfile) {
+        this.signingKeys = signingKeys;
+        this.claimProfile = ClaimProfile.of(claimProfile);
+        SigningKeyStore.StoredKey signingKey = signingKeys.getSigningKey();
+        for (SigningKeyStore.StoredKey key : signingKeys.getKeys()) {
+            publicKeysByHeader.put(headerSegment("ES256", key.keyId()), key.publicKey());
+        }
+        this.headerSegment = headerSegment("ES256", signingKey.keyId());
+        this.signer = ThreadLocal.withInitial(() -> {
+            try {
+                Signature instance = Signature.getInstance(SIGNATURE_ALGORITHM);
+                instance.initSign(signingKey.privateKey());
+                return instance;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Unable to initialize " + SIGNATURE_ALGORITHM, e);
+            }
+        });
+        this.verifier = ThreadLocal.withInitial(() -> {
+            try {
+                return Signature.getInstance(SIGNATURE_ALGORITHM);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Unable to initialize " + SIGNATURE_ALGORITHM, e);
+            }
+        });
+
+        if (legacySecret == null || legacySecret.isBlank()) {
+            this.legacyKey = null;
+            this.legacyHeaderSegment = null;
+            this.legacyMac = null;
+        } else {
+            this.legacyKey = Keys.hmacShaKeyFor(legacySecret.getBytes());
+            // Keys.hmacShaKeyFor picks HS256, HS384 or HS512 depending on the key length
+            String algorithm = switch (legacyKey.getAlgorithm()) {
+                case "HmacSHA384" -> "HS384";
+                case "HmacSHA512" -> "HS512";
+                default -> "HS256";
+            };
+            this.legacyHeaderSegment = headerSegment(algorithm, null);
+            this.legacyMac = ThreadLocal.withInitial(() -> {
+                try {
+                    Mac instance = Mac.getInstance(legacyKey.getAlgorithm());
+                    instance.init(legacyKey);
+                    return instance;
+                } catch (GeneralSecurityException e) {
+                    throw new IllegalStateException("Unable to initialize " + legacyKey.getAlgorithm(), e);
+                }
+            });
+        }
+
+        this.parser = Jwts.parser()
+                .keyLocator(new LocatorAdapter<Key>() {
+                    @Override
+                    protected Key locate(JwsHeader header) {
+                        return verificationKey(header.getKeyId());
+                    }
+                })
+                .build();
     }
 
     /**
@@ -43,62 +186,253 @@ public class JweTokenService {
      *
      * @param userClaim the user claim to be included in the token.
      * @param uniqueId the unique ID of the user.
+     * @param role the role of the user.
      * @param issAt the issuance time of the token.
      * @param expAt the expiration time of the token.
      * @return the generated JWE token as a string.
+     * @throws IllegalStateException if the claims cannot be serialized.
      */
     public String createJweToken(
             UserClaim userClaim,
             String uniqueId,
+            String role,
             Date issAt,
             Date expAt) {
-        try{
-            return Jwts.builder()
-                    .header()
-                    .add("alg", "HS256")
-                    .add("typ", "JWT")
-                    .and()
-                    .issuer("key-spring")
-                    .subject(uniqueId)
-                    .claim("User", userClaim)
-                    .expiration(expAt)
-                    .notBefore(issAt)
-                    .issuedAt(issAt)
-                    .signWith(secretKey)
-                    .compact();
-        } catch (Exception e) {
-            System.out.println("Error: " + e);
+        Map<String, Object> claims = new LinkedHashMap<>(8);
+        claims.put(Claims.ISSUER, ISSUER);
+        claims.put(Claims.SUBJECT, uniqueId);
+        claims.put(Claims.ID, UUID.randomUUID().toString());
+        if (claimProfile == ClaimProfile.LEGACY) {
+            claims.put(USER_CLAIM, userClaim);
+            claims.put(ROLE_CLAIM, role);
+            claims.put(Claims.EXPIRATION, expAt.getTime() / 1000);
+            claims.put(Claims.NOT_BEFORE, issAt.getTime() / 1000);
+        } else {
+            putIfPresent(claims, ROLE_CLAIM, role);
+            if (claimProfile.includesEmail()) {
+                putIfPresent(claims, EMAIL_CLAIM, userClaim.getEmail());
+            }
+            if (claimProfile.includesName()) {
+                putIfPresent(claims, GIVEN_NAME_CLAIM, userClaim.getFirstName());
+                putIfPresent(claims, FAMILY_NAME_CLAIM, userClaim.getLastName());
+            }
+            claims.put(Claims.EXPIRATION, expAt.getTime() / 1000);
         }
-        return null;
+        claims.put(Claims.ISSUED_AT, issAt.getTime() / 1000);
+
+        byte[] payload;
+        try {
+            payload = OBJECT_MAPPER.writeValueAsBytes(claims);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to serialize token claims.", e);
+        }
+
+        StringBuilder token = new StringBuilder(headerSegment.length() + payload.length * 4 / 3 + 48)
+                .append(headerSegment)
+                .append('.')
+                .append(BASE64URL_ENCODER.encodeToString(payload));
+        byte[] signature = sign(token.toString().getBytes(StandardCharsets.US_ASCII), token.length());
+        return token.append('.').append(BASE64URL_ENCODER.encodeToString(signature)).toString();
     }
 
     /**
-     * Reads and parses a JWE token.
+     * Reads and verifies a JWE token.
      *
      * @param jweToken the JWE token to be read.
-     * @return the parsed JWS containing the claims, or null if an error occurs.
-     */
-    public Jws<Claims> readJWE(String jweToken) {
-        try{
-            return Jwts.parser()
-                    .verifyWith(secretKey)
-                    .build()
-                    .parseSignedClaims(jweToken);
-        } catch (Exception e) {
-            System.out.println("Error: " + e);
+     * @return the {@link TokenVerificationResult} holding the verified claims or the reason the token was rejected.
+     */
+    public TokenVerificationResult readJWE(String jweToken) {
+        if (jweToken == null || jweToken.isEmpty()) {
+            return TokenVerificationResult.rejected(TokenVerificationResult.Status.MALFORMED);
+        }
+        int payloadStart = jweToken.indexOf('.') + 1;
+        int signatureStart = jweToken.indexOf('.', payloadStart) + 1;
+        if (payloadStart == 0 || signatureStart == 0 || jweToken.indexOf('.', signatureStart) >= 0) {
+            return TokenVerificationResult.rejected(TokenVerificationResult.Status.MALFORMED);
+        }
+        String header = jweToken.substring(0, payloadStart - 1);
+        PublicKey publicKey = publicKeysByHeader.get(header);
+        if (publicKey == null && (legacyHeaderSegment == null || !legacyHeaderSegment.equals(header))) {
+            return readWithParser(jweToken);
+        }
+
+        try {
+            byte[] signature = BASE64URL_DECODER.decode(jweToken.substring(signatureStart));
+            byte[] signingInput = jweToken.getBytes(StandardCharsets.US_ASCII);
+            boolean verified = publicKey != null
+                    ? verify(publicKey, signingInput, signatureStart - 1, signature)
+                    : MessageDigest.isEqual(legacySign(signingInput, signatureStart - 1), signature);
+            if (!verified) {
+                return TokenVerificationResult.rejected(TokenVerificationResult.Status.INVALID_SIGNATURE);
+            }
+
+            byte[] payload = BASE64URL_DECODER.decode(jweToken.substring(payloadStart, signatureStart - 1));
+            TokenVerificationResult.Status timeStatus = checkTimeClaims(payload);
+            if (timeStatus != TokenVerificationResult.Status.VALID) {
+                return TokenVerificationResult.rejected(timeStatus);
+            }
+            return TokenVerificationResult.valid(Jwts.claims().add(OBJECT_MAPPER.readValue(payload, CLAIMS_TYPE)).build());
+        } catch (IllegalArgumentException | IOException e) {
+            logger.debug("Rejected malformed token: {}", e.getMessage());
+            return TokenVerificationResult.rejected(TokenVerificationResult.Status.MALFORMED);
         }
-        return null;
     }
 
     /**
      * Extracts the subject (unique ID) from a JWE token.
      *
      * @param jweToken the JWE token from which to extract the subject.
-     * @return the subject (unique ID) of the token, or null if an error occurs.
+     * @return the subject (unique ID) of the token, or empty if the token could not be verified.
+     */
+    public Optional<String> extractSubject(String jweToken) {
+        TokenVerificationResult result = readJWE(jweToken);
+        if (!result.isValid()) return Optional.empty();
+        return Optional.ofNullable(result.claims().getSubject());
+    }
+
+    /**
+     * @return the {@link ClaimProfile} new tokens are issued with.
      */
-    public String extractSubject(String jweToken) {
-        Jws<Claims> readToken = readJWE(jweToken);
-        if(readToken == null) return null;
-        return readToken.getPayload().getSubject();
+    public ClaimProfile getClaimProfile() {
+        return claimProfile;
+    }
+
+    /**
+     * @return the key ID ({@code kid}) new tokens are signed with.
+     */
+    public String getSigningKeyId() {
+        return signingKeys.getSigningKey().keyId();
+    }
+
+    /**
+     * Verifies a token that does not carry the cached header through the prebuilt parser.
+     *
+     * @param jweToken the JWE token to be read.
+     * @return the {@link TokenVerificationResult} of the verification.
+     */
+    private TokenVerificationResult readWithParser(String jweToken) {
+        try {
+            return TokenVerificationResult.valid(parser.parseSignedClaims(jweToken).getPayload());
+        } catch (ExpiredJwtException e) {
+            return TokenVerificationResult.rejected(TokenVerificationResult.Status.EXPIRED);
+        } catch (PrematureJwtException e) {
+            return TokenVerificationResult.rejected(TokenVerificationResult.Status.NOT_YET_VALID);
+        } catch (SignatureException e) {
+            return TokenVerificationResult.rejected(TokenVerificationResult.Status.INVALID_SIGNATURE);
+        } catch (UnsupportedJwtException e) {
+            return TokenVerificationResult.rejected(TokenVerificationResult.Status.UNSUPPORTED);
+        } catch (MalformedJwtException | IllegalArgumentException e) {
+            return TokenVerificationResult.rejected(TokenVerificationResult.Status.MALFORMED);
+        } catch (JwtException e) {
+            logger.debug("Rejected token: {}", e.getMessage());
+            return TokenVerificationResult.rejected(TokenVerificationResult.Status.MALFORMED);
+        }
+    }
+
+    /**
+     * Checks the {@code exp} and {@code nbf} claims of a payload by streaming over its top-level
+     * fields, without materializing the claims.
+     *
+     * @param payload the decoded payload JSON.
+     * @return {@link TokenVerificationResult.Status#VALID}, or the time-based reason for rejection.
+     * @throws IOException if the payload is not a JSON object.
+     */
+    private TokenVerificationResult.Status checkTimeClaims(byte[] payload) throws IOException {
+        long now = System.currentTimeMillis();
+        try (JsonParser json = OBJECT_MAPPER.getFactory().createParser(payload)) {
+            if (json.nextToken() != JsonToken.START_OBJECT) throw new IOException("Payload is not a JSON object.");
+            while (json.nextToken() == JsonToken.FIELD_NAME) {
+                String field = json.currentName();
+                JsonToken value = json.nextToken();
+                if (Claims.EXPIRATION.equals(field) || Claims.NOT_BEFORE.equals(field)) {
+                    if (!value.isNumeric()) throw new IOException("Claim " + field + " is not numeric.");
+                    long millis = json.getLongValue() * 1000;
+                    if (Claims.EXPIRATION.equals(field) && now > millis) return TokenVerificationResult.Status.EXPIRED;
+                    if (Claims.NOT_BEFORE.equals(field) && now < millis) return TokenVerificationResult.Status.NOT_YET_VALID;
+                } else {
+                    json.skipChildren();
+                }
+            }
+        }
+        return TokenVerificationResult.Status.VALID;
+    }
+
+    /**
+     * Resolves the key a token is verified with from its {@code kid} header.
+     *
+     * @param keyId the key ID of the token, null for legacy HS256 tokens.
+     * @return the public key, or the legacy secret for tokens without a key ID.
+     * @throws UnsupportedJwtException if no such key is known.
+     */
+    private Key verificationKey(String keyId) {
+        if (keyId == null) {
+            if (legacyKey == null) throw new UnsupportedJwtException("Tokens without a key ID are no longer accepted.");
+            return legacyKey;
+        }
+        for (SigningKeyStore.StoredKey key : signingKeys.getKeys()) {
+            if (key.keyId().equals(keyId)) return key.publicKey();
+        }
+        throw new UnsupportedJwtException("Unknown key ID " + keyId);
+    }
+
+    /**
+     * Computes the ES256 signature of the first {@code length} bytes of the signing input.
+     *
+     * @param signingInput the ASCII bytes of the token.
+     * @param length the number of bytes covering the header and payload segments.
+     * @return the signature bytes.
+     */
+    private byte[] sign(byte[] signingInput, int length) {
+        try {
+            Signature instance = signer.get();
+            instance.update(signingInput, 0, length);
+            return instance.sign();
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to sign token.", e);
+        }
+    }
+
+    /**
+     * Checks the ES256 signature of the first {@code length} bytes of the signing input.
+     *
+     * @param publicKey the key the token claims to be signed with.
+     * @param signingInput the ASCII bytes of the token.
+     * @param length the number of bytes covering the header and payload segments.
+     * @param signature the decoded signature segment.
+     * @return true if the signature is valid, false otherwise.
+     */
+    private boolean verify(PublicKey publicKey, byte[] signingInput, int length, byte[] signature) {
+        try {
+            Signature instance = verifier.get();
+            instance.initVerify(publicKey);
+            instance.update(signingInput, 0, length);
+            return instance.verify(signature);
+        } catch (GeneralSecurityException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Computes the legacy HMAC of the first {@code length} bytes of the signing input.
+     *
+     * @param signingInput the ASCII bytes of the token.
+     * @param length the number of bytes covering the header and payload segments.
+     * @return the signature bytes.
+     */
+    private byte[] legacySign(byte[] signingInput, int length) {
+        Mac instance = legacyMac.get();
+        instance.update(signingInput, 0, length);
+        return instance.doFinal();
+    }
+
+    private static void putIfPresent(Map<String, Object> claims, String name, Object value) {
+        if (value != null) claims.put(name, value);
+    }
+
+    private static String headerSegment(String algorithm, String keyId) {
+        String header = keyId == null
+                ? "{\"alg\":\"" + algorithm + "\",\"typ\":\"JWT\"}"
+                : "{\"alg\":\"" + algorithm + "\",\"typ\":\"JWT\",\"kid\":\"" + keyId + "\"}";
+        return BASE64URL_ENCODER.encodeToString(header.getBytes(StandardCharsets.UTF_8));
     }
-}
\ No newline at end of file
+}
@@ -1,54 +1,121 @@
 package com.example.keyspring.security;
 
+import com.example.keyspring.model.view.UserProfileView;
+import com.example.keyspring.repository.UserRepository;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
-import org.springframework.security.authentication.CachingUserDetailsService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
+import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.Optional;
 
 import static org.springframework.http.HttpHeaders.AUTHORIZATION;
 
-//public class JwtAuthenticationFilter extends OncePerRequestFilter {
-
-    //private CachingUserDetailsService userDetailsService;
-
-//    @Override
-//    protected void doFilterInternal(
-//            HttpServletRequest request,
-//            HttpServletResponse response,
-//            FilterChain filterChain) throws ServletException, IOException {
-//
-//        final String authHeader = request.getHeader(AUTHORIZATION);
-//        final String userEmail;
-//        final String jwtToken;
-//
-//        if(authHeader == null || !authHeader.startsWith("Bearer ")) {
-//            filterChain.doFilter(request, response);
-//            return;
-//        }
-//
-//        jwtToken = authHeader.substring(7);
-//        userEmail = "jwtUtil.extractEmail(jwtToken)"; // TODO: Implement this method
-//
-//        if(userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-//            UserDetails userDetails = userDetailsService.loadUserByUsername(userEmail);
-//
-//            final boolean isTokenValid; // TODO: Implement this method
-//            if(isTokenValid) {
-//                UsernamePasswordAuthenticationToken usernamePasswordAuthenticationToken = new UsernamePasswordAuthenticationToken(
-//                        userDetails, null, userDetails.getAuthorities()
-//                );
-//                usernamePasswordAuthenticationToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-//                SecurityContextHolder.getContext().setAuthentication(usernamePasswordAuthenticationToken);
-//            }
-//        }
-//        filterChain.doFilter(request, response);
-//    }
-//}
+/**
+ * Filter that authenticates requests carrying a {@code Bearer} token issued by {@link JweTokenService}.
+ * <p>
+ * Tokens are checked by the {@link TokenVerifier}, which remembers verified tokens in the
+ * {@link VerifiedTokenCache} until they expire, so repeat requests with the same token skip
+ * signature verification and claims parsing entirely. Requests
+ * without a valid token pass through unauthenticated and are rejected by the authorization rules
+ * in {@code SecurityConfig} where authentication is required. Tokens revoked through the
+ * {@link TokenRevocationService} are rejected even when they are cached.
+ * <p>
+ * The principal is the {@code UserClaim} signed into the token and its authority comes from the
+ * {@code role} claim, so authenticating a request needs no database access. With
+ * {@code keyspring.security.strict-user-lookup=true} the user is additionally loaded on every
+ * request, rejecting tokens of deleted users and taking the role from the database instead.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2024-12-24
+ * @modified 2026-10-17
+ */
+@Component
+public class JwtAuthenticationFilter extends OncePerRequestFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(JwtAuthenticationFilter.class);
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final TokenVerifier tokenVerifier;
+    private final UserRepository userRepository;
+    private final boolean strictUserLookup;
+    private final WebAuthenticationDetailsSource detailsSource = new WebAuthenticationDetailsSource();
+
+    /**
+     * Constructs a new {@code JwtAuthenticationFilter}.
+     *
+     * @param tokenVerifier the verifier checking bearer tokens against the cache, their signature and revocations.
+     * @param userRepository the repository used to load users in strict mode.
+     * @param strictUserLookup whether every request should also load its user from the database.
+     */
+    public JwtAuthenticationFilter(
+            TokenVerifier tokenVerifier,
+            UserRepository userRepository,
+            @Value("${keyspring.security.strict-user-lookup:false}") boolean strictUserLookup) {
+        this.tokenVerifier = tokenVerifier;
+        this.userRepository = userRepository;
+        this.strictUserLookup = strictUserLookup;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain filterChain) throws ServletException, IOException {
+
+        final String authHeader = request.getHeader(AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)
+                || SecurityContextHolder.getContext().getAuthentication() != null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        VerifiedToken verifiedToken = tokenVerifier.verify(authHeader.substring(BEARER_PREFIX.length()));
+
+        if (verifiedToken != null && strictUserLookup) {
+            verifiedToken = checkAgainstDatabase(verifiedToken);
+        }
+
+        if (verifiedToken != null) {
+            UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                    verifiedToken.principal(), null, verifiedToken.authorities());
+            authentication.setDetails(detailsSource.buildDetails(request));
+
+            SecurityContext context = SecurityContextHolder.createEmptyContext();
+            context.setAuthentication(authentication);
+            SecurityContextHolder.setContext(context);
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Confirms that the user of a verified token still exists and refreshes its role from the database.
+     *
+     * @param verifiedToken the verified token.
+     * @return the token with the current role, or null if the user no longer exists.
+     */
+    private VerifiedToken checkAgainstDatabase(VerifiedToken verifiedToken) {
+        Optional<UserProfileView> user = userRepository.findProfileByUniqueId(verifiedToken.subject());
+        if (user.isEmpty()) {
+            logger.debug("Rejected bearer token of unknown user {}", verifiedToken.subject());
+            return null;
+        }
+        return new VerifiedToken(
+                verifiedToken.subject(),
+                verifiedToken.tokenId(),
+                verifiedToken.principal(),
+                TokenVerifier.authoritiesOf(user.get().role()),
+                verifiedToken.expiresAtMillis());
+    }
+}
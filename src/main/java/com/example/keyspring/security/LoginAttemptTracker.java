@@ -0,0 +1,244 @@
+package com.example.keyspring.security;
+
+import com.example.keyspring.model.LoginAttempts;
+import com.example.keyspring.model.view.LoginCredentialView;
+import com.example.keyspring.repository.UserRepository;
+import com.example.keyspring.util.ValidationUtils;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Component that locks accounts after repeated failed logins, before any password is hashed.
+ * <p>
+ * Failed attempts are counted in memory per normalized email. Each account's state is an immutable
+ * value replaced through {@link ConcurrentHashMap#compute}, which locks only the bin holding that
+ * account, and checking a lock is a single lock-free read. A login against a locked account is
+ * therefore refused without touching the database or the hashing pool.
+ * </p>
+ * Changed states are written back to the {@code failed_login_attempts} and {@code account_locked_until}
+ * columns in batches by {@link #flush()}, never per attempt, so locks survive restarts and are seen by
+ * other nodes once they load the user. A lock loaded from the database is honoured even when this
+ * node holds its own counter for the account, and a write never shortens a lock that is still
+ * running, so a node that counted fewer failures cannot lift a lock another node has set. Entries are
+ * dropped from memory once they are written and no longer relevant.
+ * <ul>
+ *     <li>{@code keyspring.lockout.max-attempts} - consecutive failures that lock an account.</li>
+ *     <li>{@code keyspring.lockout.duration-seconds} - how long an account stays locked.</li>
+ *     <li>{@code keyspring.lockout.flush-interval-ms} - how often changed states are written back.</li>
+ * </ul>
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+@Component
+public class LoginAttemptTracker {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginAttemptTracker.class);
+
+    /**
+     * The lockout state of one account.
+     *
+     * @param failures the number of consecutive failed logins.
+     * @param lockedUntilMillis the epoch millis until which the account is locked, 0 if it is not.
+     * @param touchedAtMillis the epoch millis of the last change.
+     */
+    private record State(int failures, long lockedUntilMillis, long touchedAtMillis) {
+        boolean isLockedAt(long now) {
+            return lockedUntilMillis > now;
+        }
+    }
+
+    private final UserRepository userRepository;
+    private final int maxAttempts;
+    private final long lockDurationMillis;
+
+    private final ConcurrentHashMap<String, State> states = new ConcurrentHashMap<>();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Constructs a new {@code LoginAttemptTracker}.
+     *
+     * @param userRepository the repository the lockout state is written to.
+     * @param maxAttempts the number of consecutive failures that lock an account.
+     * @param lockDurationSeconds how long an account stays locked, in seconds.
+     */
+    public LoginAttemptTracker(
+            UserRepository userRepository,
+            @Value("${keyspring.lockout.max-attempts:5}") int maxAttempts,
+            @Value("${keyspring.lockout.duration-seconds:900}") long lockDurationSeconds) {
+        this.userRepository = userRepository;
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.lockDurationMillis = lockDurationSeconds * 1000;
+    }
+
+    /**
+     * Checks whether an account is locked according to this node's counters.
+     * Needs no database access, so it can run before the user is loaded.
+     *
+     * @param email the normalized email address of the account.
+     * @return true if the account is locked, false otherwise.
+     */
+    public boolean isLocked(String email) {
+        State state = states.get(email);
+        return state != null && state.isLockedAt(System.currentTimeMillis());
+    }
+
+    /**
+     * Checks whether an account is locked, by this node's counters or by a lock loaded from the
+     * database, whichever runs longer.
+     *
+     * @param user the login credentials of the user, including its stored lockout columns.
+     * @return true if the account is locked, false otherwise.
+     */
+    public boolean isLocked(LoginCredentialView user) {
+        long now = System.currentTimeMillis();
+        State state = states.get(keyOf(user));
+        if (state != null && state.isLockedAt(now)) return true;
+        return user.accountLockedUntil() != null && toMillis(user.accountLockedUntil()) > now;
+    }
+
+    /**
+     * Records a failed login, locking the account once the maximum number of attempts is reached.
+     * The stored counter of the user is continued when this node has no counter for the account yet.
+     *
+     * @param user the login credentials of the user, including its stored lockout columns.
+     * @return true if this failure locked the account, false otherwise.
+     */
+    public boolean recordFailure(LoginCredentialView user) {
+        long now = System.currentTimeMillis();
+        State updated = states.compute(keyOf(user), (email, current) -> {
+            State base = current != null ? current : storedState(user);
+            // Once a lock has run out, counting starts over
+            int failures = base.lockedUntilMillis() != 0 && !base.isLockedAt(now) ? 1 : base.failures() + 1;
+            long lockedUntil = failures >= maxAttempts ? now + lockDurationMillis : 0;
+            // Marked inside compute so that eviction, which also runs per bin, never drops an unwritten change
+            dirty.add(email);
+            return new State(failures, lockedUntil, now);
+        });
+        return updated.lockedUntilMillis() != 0;
+    }
+
+    /**
+     * Records a successful login, clearing any failed attempts of the account.
+     *
+     * @param user the login credentials of the user, including its stored lockout columns.
+     */
+    public void recordSuccess(LoginCredentialView user) {
+        String key = keyOf(user);
+        State current = states.get(key);
+        State base = current != null ? current : storedState(user);
+        if (base.failures() == 0 && base.lockedUntilMillis() == 0) return;
+
+        states.compute(key, (email, state) -> {
+            dirty.add(email);
+            return new State(0, 0, System.currentTimeMillis());
+        });
+    }
+
+    /**
+     * Clears the failed attempts and any lock of an account, e.g. after its password was reset.
+     * Other nodes keep a lock they hold in memory until it runs out.
+     *
+     * @param email the normalized email address of the account.
+     */
+    public void reset(String email) {
+        states.compute(email, (key, state) -> {
+            dirty.add(key);
+            return new State(0, 0, System.currentTimeMillis());
+        });
+    }
+
+    /**
+     * Writes changed lockout states to the database in one batch, then drops entries that no
+     * longer need to be held in memory.
+     */
+    @Scheduled(
+            initialDelayString = "${keyspring.lockout.flush-interval-ms:1000}",
+            fixedDelayString = "${keyspring.lockout.flush-interval-ms:1000}")
+    public void flush() {
+        if (!dirty.isEmpty()) {
+            List<LoginAttempts> batch = new ArrayList<>(dirty.size());
+            Iterator<String> iterator = dirty.iterator();
+            while (iterator.hasNext()) {
+                String email = iterator.next();
+                iterator.remove();
+                State state = states.get(email);
+                if (state == null) continue;
+                batch.add(new LoginAttempts(
+                        email,
+                        state.failures(),
+                        state.lockedUntilMillis() == 0 ? null : toLocalDateTime(state.lockedUntilMillis())));
+            }
+            try {
+                userRepository.updateLoginAttempts(batch);
+            } catch (Exception e) {
+                logger.warn("Could not write {} login attempt counters, retrying later: {}", batch.size(), e.getMessage());
+                batch.forEach(attempts -> dirty.add(attempts.email()));
+                return;
+            }
+        }
+        evict(System.currentTimeMillis());
+    }
+
+    /**
+     * Writes pending changes before the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * @return the number of accounts tracked in memory.
+     */
+    public int getSize() {
+        return states.size();
+    }
+
+    /**
+     * Drops written entries that are cleared, or whose lock and last failure are older than the lock duration.
+     */
+    private void evict(long now) {
+        for (String email : states.keySet()) {
+            states.computeIfPresent(email, (key, state) -> {
+                if (dirty.contains(key)) return state;
+                boolean cleared = state.failures() == 0;
+                boolean stale = !state.isLockedAt(now) && now - state.touchedAtMillis() > lockDurationMillis;
+                return cleared || stale ? null : state;
+            });
+        }
+    }
+
+    private static String keyOf(LoginCredentialView user) {
+        return ValidationUtils.normalizeEmail(user.email());
+    }
+
+    private static State storedState(LoginCredentialView user) {
+        int failures = user.failedLoginAttempts() == null ? 0 : user.failedLoginAttempts();
+        long lockedUntil = user.accountLockedUntil() == null ? 0 : toMillis(user.accountLockedUntil());
+        return new State(failures, lockedUntil, System.currentTimeMillis());
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,272 @@
+package com.example.keyspring.security;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Dedicated, bounded executor for CPU-bound password hashing (Argon2 encode and verify).
+ * <p>
+ * Hashing is kept off the servlet threads so a burst of logins cannot pin every request thread
+ * in Argon2. The pool is sized to the available cores and fronted by a bounded queue; when the
+ * queue is full, or a task cannot start before its deadline, the task is rejected immediately with a
+ * {@link HashingRejectedException} rather than piling up latency for every caller behind it.
+ * </p>
+ * Configuration properties:
+ * <ul>
+ *     <li>{@code keyspring.hashing.pool-size} - worker threads, defaults to the number of cores.</li>
+ *     <li>{@code keyspring.hashing.queue-capacity} - queued tasks, defaults to four per worker.</li>
+ *     <li>{@code keyspring.hashing.deadline-ms} - maximum queue wait plus run time per task.</li>
+ *     <li>{@code keyspring.hashing.retry-after-seconds} - value advertised to rejected clients.</li>
+ * </ul>
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+@Component
+public class PasswordHashingExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingExecutor.class);
+
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final long deadlineMillis;
+    private final int retryAfterSeconds;
+
+    private final LongAdder started = new LongAdder();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAccumulator maxWaitNanos = new LongAccumulator(Long::max, 0L);
+
+    /**
+     * Constructs a new {@code PasswordHashingExecutor}.
+     *
+     * @param poolSize number of worker threads, or {@code 0} to use the number of available cores.
+     * @param queueCapacity number of tasks allowed to wait, or {@code 0} for four per worker.
+     * @param deadlineMillis maximum time a task may spend queued and running.
+     * @param retryAfterSeconds the {@code Retry-After} value advertised when a task is rejected.
+     */
+    public PasswordHashingExecutor(
+            @Value("${keyspring.hashing.pool-size:0}") int poolSize,
+            @Value("${keyspring.hashing.queue-capacity:0}") int queueCapacity,
+            @Value("${keyspring.hashing.deadline-ms:2000}") long deadlineMillis,
+            @Value("${keyspring.hashing.retry-after-seconds:1}") int retryAfterSeconds) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = queueCapacity > 0 ? queueCapacity : threads * 4;
+        this.deadlineMillis = deadlineMillis;
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(this.queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "argon2-hasher-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.executor.prestartAllCoreThreads();
+
+        logger.info("Password hashing pool started with {} threads, queue capacity {} and deadline {} ms",
+                threads, this.queueCapacity, deadlineMillis);
+    }
+
+    /**
+     * Submits a hashing task to the pool without blocking the caller.
+     * <p>
+     * The returned future completes exceptionally with a {@link HashingRejectedException} when the
+     * pool is saturated or the task misses its deadline.
+     * </p>
+     *
+     * @param task the hashing work to run.
+     * @param <T> the result type of the task.
+     * @return a future holding the result of the task.
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        final long enqueuedAt = System.nanoTime();
+        final long deadline = enqueuedAt + TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+        CompletableFuture<T> future = new CompletableFuture<>();
+
+        try {
+            executor.execute(() -> {
+                long startedAt = System.nanoTime();
+                long waited = startedAt - enqueuedAt;
+                started.increment();
+                totalWaitNanos.add(waited);
+                maxWaitNanos.accumulate(waited);
+
+                // The caller already gave up on this task, don't burn CPU on it
+                if (future.isDone()) return;
+                if (startedAt - deadline > 0) {
+                    expired.increment();
+                    future.completeExceptionally(busy());
+                    return;
+                }
+                try {
+                    T result = task.get();
+                    succeeded.increment();
+                    future.complete(result);
+                } catch (Throwable e) {
+                    failed.increment();
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            future.completeExceptionally(busy());
+            return future;
+        }
+
+        return future
+                .orTimeout(deadlineMillis, TimeUnit.MILLISECONDS)
+                .exceptionallyCompose(e -> {
+                    Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+                    if (cause instanceof TimeoutException) {
+                        expired.increment();
+                        return CompletableFuture.failedFuture(busy());
+                    }
+                    return CompletableFuture.failedFuture(cause);
+                });
+    }
+
+    /**
+     * Runs a hashing task on the pool and waits for its result.
+     *
+     * @param task the hashing work to run.
+     * @param <T> the result type of the task.
+     * @return the result of the task.
+     * @throws HashingRejectedException if the pool is saturated or the task misses its deadline.
+     */
+    public <T> T call(Supplier<T> task) {
+        try {
+            return submit(task).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) throw runtimeException;
+            if (e.getCause() instanceof Error error) throw error;
+            throw new IllegalStateException("Password hashing failed.", e.getCause());
+        }
+    }
+
+    /**
+     * @return the number of tasks currently waiting for a worker.
+     */
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * @return the maximum number of tasks allowed to wait for a worker.
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * @return the number of workers currently hashing.
+     */
+    public int getActiveCount() {
+        return executor.getActiveCount();
+    }
+
+    /**
+     * @return the number of worker threads in the pool.
+     */
+    public int getPoolSize() {
+        return executor.getCorePoolSize();
+    }
+
+    /**
+     * @return the number of tasks that got a worker, whether or not they ran.
+     */
+    public long getStartedCount() {
+        return started.sum();
+    }
+
+    /**
+     * @return the number of tasks that ran and returned a result.
+     */
+    public long getSucceededCount() {
+        return succeeded.sum();
+    }
+
+    /**
+     * @return the number of tasks that ran and threw.
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * @return the number of tasks rejected because the queue was full.
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * @return the number of tasks dropped because they missed their deadline.
+     */
+    public long getExpiredCount() {
+        return expired.sum();
+    }
+
+    /**
+     * @return the total time tasks spent waiting in the queue, in nanoseconds.
+     */
+    public long getTotalWaitNanos() {
+        return totalWaitNanos.sum();
+    }
+
+    /**
+     * @return the longest time a task spent waiting in the queue, in milliseconds.
+     */
+    public double getMaxWaitMillis() {
+        return maxWaitNanos.get() / 1_000_000.0;
+    }
+
+    /**
+     * @return the {@code Retry-After} value, in seconds, advertised to rejected clients.
+     */
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    /**
+     * Stops accepting new tasks and lets queued ones drain.
+     */
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private HashingRejectedException busy() {
+        return new HashingRejectedException("Password hashing capacity exhausted.", retryAfterSeconds);
+    }
+}
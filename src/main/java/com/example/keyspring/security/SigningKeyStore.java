@@ -0,0 +1,269 @@
+package com.example.keyspring.security;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.bouncycastle.jce.ECNamedCurveTable;
+import org.bouncycastle.jce.spec.ECNamedCurveParameterSpec;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.MessageDigest;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.PKCS8EncodedKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Holds the ES256 (ECDSA P-256) keys tokens are signed and verified with, and their JWK Set.
+ * <p>
+ * Keys are read from the PEM files in {@code keyspring.jwt.keys.location}; the key ID ({@code kid})
+ * of a key is its file name up to the first dot. A file holding a {@code PRIVATE KEY} (PKCS#8, e.g.
+ * from {@code openssl genpkey -algorithm EC -pkeyopt ec_paramgen_curve:P-256}) can sign; a file
+ * holding only a {@code PUBLIC KEY} is published and accepted for verification but never signs.
+ * Tokens are signed with the key named by {@code keyspring.jwt.keys.active}, or with the last
+ * private key by file name if none is named.
+ * </p>
+ * Keys are rotated without downtime by publishing the new key first, switching
+ * {@code keyspring.jwt.keys.active} to it once resource servers have refreshed their cached JWK Set,
+ * and retiring the old key after the tokens it signed have expired. Without a key location an
+ * ephemeral key is generated at startup, which is only suitable for development.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+@Component
+public class SigningKeyStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(SigningKeyStore.class);
+    private static final Pattern PEM_BLOCK = Pattern.compile(
+            "-----BEGIN ([A-Z ]+)-----([A-Za-z0-9+/=\\s]+)-----END \\1-----");
+    private static final Pattern KEY_ID = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final String CURVE = "secp256r1";
+    private static final int COORDINATE_BYTES = 32;
+
+    /**
+     * A verification key and, for keys that can sign, its private half.
+     *
+     * @param keyId the key ID ({@code kid}) of the key.
+     * @param publicKey the public key tokens are verified with.
+     * @param privateKey the private key tokens are signed with, or null for verification-only keys.
+     */
+    public record StoredKey(String keyId, ECPublicKey publicKey, ECPrivateKey privateKey) {
+    }
+
+    private final List<StoredKey> keys;
+    private final StoredKey signingKey;
+    private final byte[] jwks;
+    private final String jwksETag;
+
+    /**
+     * Constructs a new {@code SigningKeyStore} and loads its keys.
+     *
+     * @param location the directory holding the PEM key files, or blank to generate an ephemeral key.
+     * @param activeKeyId the key ID of the key to sign with, or blank for the last private key by file name.
+     * @throws IllegalStateException if the keys cannot be loaded or the active key cannot sign.
+     */
+    public SigningKeyStore(
+            @Value("${keyspring.jwt.keys.location:}") String location,
+            @Value("${keyspring.jwt.keys.active:}") String activeKeyId) {
+        if (location == null || location.isBlank()) {
+            this.keys = List.of(generateEphemeralKey());
+            logger.warn("No keyspring.jwt.keys.location configured, signing tokens with ephemeral key {}. "
+                    + "Tokens will not survive a restart or verify on other nodes.", keys.get(0).keyId());
+        } else {
+            this.keys = loadKeys(Path.of(location));
+        }
+
+        this.signingKey = keys.stream()
+                .filter(key -> key.privateKey() != null)
+                .filter(key -> activeKeyId == null || activeKeyId.isBlank() || key.keyId().equals(activeKeyId))
+                .reduce((first, second) -> second)
+                .orElseThrow(() -> new IllegalStateException(activeKeyId == null || activeKeyId.isBlank()
+                        ? "No private key found in " + location
+                        : "Active key " + activeKeyId + " not found or has no private key"));
+        this.jwks = buildJwks(keys);
+        this.jwksETag = '"' + HexFormat.of().formatHex(sha256(jwks), 0, 16) + '"';
+
+        logger.info("Loaded {} token signing keys, signing with {}", keys.size(), signingKey.keyId());
+    }
+
+    /**
+     * @return the key new tokens are signed with.
+     */
+    public StoredKey getSigningKey() {
+        return signingKey;
+    }
+
+    /**
+     * @return every key tokens are accepted from, including the signing key.
+     */
+    public List<StoredKey> getKeys() {
+        return keys;
+    }
+
+    /**
+     * @return the serialized JWK Set publishing the public half of every key.
+     */
+    public byte[] getJwks() {
+        return jwks;
+    }
+
+    /**
+     * @return the entity tag of the JWK Set.
+     */
+    public String getJwksETag() {
+        return jwksETag;
+    }
+
+    private static List<StoredKey> loadKeys(Path directory) {
+        List<StoredKey> loaded = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.filter(path -> path.getFileName().toString().endsWith(".pem"))
+                    .sorted(Comparator.comparing(path -> path.getFileName().toString()))
+                    .toList()) {
+                StoredKey key = readKey(file);
+                if (loaded.stream().anyMatch(other -> other.keyId().equals(key.keyId()))) {
+                    throw new IllegalStateException("Duplicate key ID " + key.keyId() + " in " + directory);
+                }
+                loaded.add(key);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read token signing keys from " + directory, e);
+        }
+        if (loaded.isEmpty()) {
+            throw new IllegalStateException("No .pem key files found in " + directory);
+        }
+        return Collections.unmodifiableList(loaded);
+    }
+
+    private static StoredKey readKey(Path file) throws IOException {
+        String fileName = file.getFileName().toString();
+        String keyId = fileName.substring(0, fileName.indexOf('.'));
+        if (!KEY_ID.matcher(keyId).matches()) {
+            throw new IllegalStateException("Invalid key ID '" + keyId + "' derived from " + file);
+        }
+
+        Matcher block = PEM_BLOCK.matcher(Files.readString(file, StandardCharsets.US_ASCII));
+        if (!block.find()) {
+            throw new IllegalStateException("No PEM block found in " + file);
+        }
+        byte[] der = Base64.getMimeDecoder().decode(block.group(2).strip());
+        try {
+            KeyFactory keyFactory = KeyFactory.getInstance("EC");
+            return switch (block.group(1)) {
+                case "PRIVATE KEY" -> {
+                    ECPrivateKey privateKey = (ECPrivateKey) keyFactory.generatePrivate(new PKCS8EncodedKeySpec(der));
+                    requireP256(privateKey.getParams().getCurve().getField().getFieldSize(), file);
+                    yield new StoredKey(keyId, derivePublicKey(keyFactory, privateKey), privateKey);
+                }
+                case "PUBLIC KEY" -> {
+                    ECPublicKey publicKey = (ECPublicKey) keyFactory.generatePublic(new X509EncodedKeySpec(der));
+                    requireP256(publicKey.getParams().getCurve().getField().getFieldSize(), file);
+                    yield new StoredKey(keyId, publicKey, null);
+                }
+                case "EC PRIVATE KEY" -> throw new IllegalStateException(file
+                        + " holds a SEC1 key, convert it with: openssl pkcs8 -topk8 -nocrypt -in " + fileName);
+                default -> throw new IllegalStateException("Unsupported PEM block '" + block.group(1) + "' in " + file);
+            };
+        } catch (GeneralSecurityException | ClassCastException e) {
+            throw new IllegalStateException("Unable to read EC key from " + file, e);
+        }
+    }
+
+    private static void requireP256(int fieldSize, Path file) {
+        if (fieldSize != 256) {
+            throw new IllegalStateException(file + " is not a P-256 key, ES256 requires the P-256 curve");
+        }
+    }
+
+    private static ECPublicKey derivePublicKey(KeyFactory keyFactory, ECPrivateKey privateKey)
+            throws GeneralSecurityException {
+        ECNamedCurveParameterSpec curve = ECNamedCurveTable.getParameterSpec(CURVE);
+        org.bouncycastle.math.ec.ECPoint point = curve.getG().multiply(privateKey.getS()).normalize();
+        ECPoint publicPoint = new ECPoint(
+                point.getAffineXCoord().toBigInteger(),
+                point.getAffineYCoord().toBigInteger());
+        return (ECPublicKey) keyFactory.generatePublic(new ECPublicKeySpec(publicPoint, privateKey.getParams()));
+    }
+
+    private static StoredKey generateEphemeralKey() {
+        try {
+            KeyPairGenerator generator = KeyPairGenerator.getInstance("EC");
+            generator.initialize(new ECGenParameterSpec(CURVE));
+            KeyPair keyPair = generator.generateKeyPair();
+            String keyId = "ephemeral-" + HexFormat.of().formatHex(
+                    sha256(keyPair.getPublic().getEncoded()), 0, 8);
+            return new StoredKey(keyId, (ECPublicKey) keyPair.getPublic(), (ECPrivateKey) keyPair.getPrivate());
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to generate an ephemeral signing key", e);
+        }
+    }
+
+    private static byte[] buildJwks(List<StoredKey> keys) {
+        Base64.Encoder base64Url = Base64.getUrlEncoder().withoutPadding();
+        List<Map<String, String>> jwkList = new ArrayList<>(keys.size());
+        for (StoredKey key : keys) {
+            Map<String, String> jwk = new LinkedHashMap<>();
+            jwk.put("kty", "EC");
+            jwk.put("crv", "P-256");
+            jwk.put("x", base64Url.encodeToString(coordinate(key.publicKey().getW().getAffineX())));
+            jwk.put("y", base64Url.encodeToString(coordinate(key.publicKey().getW().getAffineY())));
+            jwk.put("kid", key.keyId());
+            jwk.put("use", "sig");
+            jwk.put("alg", "ES256");
+            jwkList.add(jwk);
+        }
+        try {
+            return new ObjectMapper().writeValueAsBytes(Map.of("keys", jwkList));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize the JWK Set", e);
+        }
+    }
+
+    /**
+     * Encodes a curve coordinate as the fixed-length, unsigned big-endian octets required by JWK.
+     */
+    private static byte[] coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] fixed = new byte[COORDINATE_BYTES];
+        int length = Math.min(bytes.length, COORDINATE_BYTES);
+        System.arraycopy(bytes, bytes.length - length, fixed, COORDINATE_BYTES - length, length);
+        return fixed;
+    }
+
+    private static byte[] sha256(byte[] data) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(data);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.keyspring.security;
+
+import com.example.keyspring.model.RevokedToken;
+import com.example.keyspring.repository.RevokedTokenRepository;
+import com.example.keyspring.util.BloomFilter;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Service class responsible for revoking access tokens before they expire.
+ * <p>
+ * Revocations are persisted in the {@code revoked_tokens} table and mirrored in memory as a
+ * {@link BloomFilter} in front of an exact set of token IDs. The verification hot path only calls
+ * {@link #isRevoked(String)}, which for the common non-revoked token is answered by the Bloom filter
+ * alone, without touching the exact set or the database.
+ * </p>
+ * Revocations made by other nodes are pulled in periodically, and a sweeper drops revocations
+ * once the tokens they cover have expired, rebuilding the Bloom filter to shed stale entries.
+ * <ul>
+ *     <li>{@code keyspring.revocation.expected-entries} / {@code false-positive-rate} - Bloom filter sizing.</li>
+ *     <li>{@code keyspring.revocation.sync-interval-ms} - how often revocations from other nodes are pulled.</li>
+ *     <li>{@code keyspring.revocation.sweep-interval-ms} - how often expired revocations are dropped.</li>
+ * </ul>
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+@Service
+public class TokenRevocationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenRevocationService.class);
+
+    // revoked_at is set by the database when the insert runs, which can be before it commits, so each
+    // sync looks back a little further than the newest revocation it has already seen
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(30);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long expectedEntries;
+    private final double falsePositiveRate;
+
+    private final ConcurrentHashMap<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    private final Object filterLock = new Object();
+    private volatile BloomFilter filter;
+    private volatile long filterCapacity;
+    private volatile LocalDateTime lastRevokedAt = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    /**
+     * Constructs a new {@code TokenRevocationService}.
+     *
+     * @param revokedTokenRepository the repository persisting revocations.
+     * @param expectedEntries the number of simultaneously revoked tokens the Bloom filter is sized for.
+     * @param falsePositiveRate the acceptable false-positive rate of the Bloom filter.
+     */
+    public TokenRevocationService(
+            RevokedTokenRepository revokedTokenRepository,
+            @Value("${keyspring.revocation.expected-entries:100000}") long expectedEntries,
+            @Value("${keyspring.revocation.false-positive-rate:0.001}") double falsePositiveRate) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedEntries, falsePositiveRate);
+        this.filterCapacity = expectedEntries;
+    }
+
+    /**
+     * Loads the revocations that are still in effect.
+     */
+    @PostConstruct
+    public void load() {
+        sync();
+        logger.info("Loaded {} active token revocations", revokedTokens.size());
+    }
+
+    /**
+     * Checks whether a token has been revoked.
+     *
+     * @param tokenId the ID ({@code jti} claim) of the token, may be null.
+     * @return true if the token was revoked, false otherwise.
+     */
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null || !filter.mightContain(tokenId)) return false;
+        return revokedTokens.containsKey(tokenId);
+    }
+
+    /**
+     * Revokes a token until it expires.
+     *
+     * @param tokenId the ID ({@code jti} claim) of the token.
+     * @param expiresAt the expiry of the token.
+     */
+    public void revoke(String tokenId, Instant expiresAt) {
+        revokedTokenRepository.insertIfAbsent(tokenId, LocalDateTime.ofInstant(expiresAt, ZoneId.systemDefault()));
+        remember(tokenId, expiresAt.toEpochMilli());
+    }
+
+    /**
+     * Pulls in revocations recorded since the last sync, including those made by other nodes.
+     */
+    @Scheduled(
+            initialDelayString = "${keyspring.revocation.sync-interval-ms:5000}",
+            fixedDelayString = "${keyspring.revocation.sync-interval-ms:5000}")
+    public void sync() {
+        List<RevokedToken> revocations = revokedTokenRepository.findActiveRevokedAfter(
+                lastRevokedAt.minus(SYNC_OVERLAP), LocalDateTime.now());
+
+        LocalDateTime newest = lastRevokedAt;
+        for (RevokedToken revocation : revocations) {
+            remember(revocation.getJti(), revocation.getExpires_at().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            if (revocation.getRevoked_at().isAfter(newest)) newest = revocation.getRevoked_at();
+        }
+        lastRevokedAt = newest;
+    }
+
+    /**
+     * Drops revocations of tokens that have expired, both in the database and in memory.
+     */
+    @Scheduled(
+            initialDelayString = "${keyspring.revocation.sweep-interval-ms:60000}",
+            fixedDelayString = "${keyspring.revocation.sweep-interval-ms:60000}")
+    public void sweep() {
+        int deleted = revokedTokenRepository.deleteExpired(LocalDateTime.now());
+
+        long now = System.currentTimeMillis();
+        int before = revokedTokens.size();
+        revokedTokens.values().removeIf(expiresAt -> expiresAt < now);
+        int removed = before - revokedTokens.size();
+
+        if (removed > 0 || revokedTokens.size() > filterCapacity) rebuildFilter();
+        if (deleted > 0 || removed > 0) {
+            logger.debug("Swept {} expired revocations from the database and {} from memory", deleted, removed);
+        }
+    }
+
+    /**
+     * @return the number of revocations currently held in memory.
+     */
+    public int getSize() {
+        return revokedTokens.size();
+    }
+
+    private void remember(String tokenId, long expiresAtMillis) {
+        synchronized (filterLock) {
+            revokedTokens.put(tokenId, expiresAtMillis);
+            filter.put(tokenId);
+        }
+    }
+
+    private void rebuildFilter() {
+        synchronized (filterLock) {
+            long capacity = Math.max(expectedEntries, revokedTokens.size() * 2L);
+            BloomFilter rebuilt = new BloomFilter(capacity, falsePositiveRate);
+            revokedTokens.keySet().forEach(rebuilt::put);
+            filter = rebuilt;
+            filterCapacity = capacity;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.example.keyspring.security;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Result of verifying a token with {@link JweTokenService}.
+ * <p>
+ * Carries either the verified claims or the reason the token was rejected, so callers never
+ * have to deal with {@code null} or exceptions on the verification path.
+ *
+ * @param status the outcome of the verification.
+ * @param claims the verified claims, or {@code null} when the token was rejected.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+public record TokenVerificationResult(Status status, Claims claims) {
+
+    /**
+     * Possible outcomes of a token verification.
+     */
+    public enum Status {
+        VALID,
+        MALFORMED,
+        INVALID_SIGNATURE,
+        EXPIRED,
+        NOT_YET_VALID,
+        UNSUPPORTED
+    }
+
+    private static final TokenVerificationResult MALFORMED = new TokenVerificationResult(Status.MALFORMED, null);
+    private static final TokenVerificationResult INVALID_SIGNATURE = new TokenVerificationResult(Status.INVALID_SIGNATURE, null);
+    private static final TokenVerificationResult EXPIRED = new TokenVerificationResult(Status.EXPIRED, null);
+    private static final TokenVerificationResult NOT_YET_VALID = new TokenVerificationResult(Status.NOT_YET_VALID, null);
+    private static final TokenVerificationResult UNSUPPORTED = new TokenVerificationResult(Status.UNSUPPORTED, null);
+
+    /**
+     * Creates a successful result.
+     *
+     * @param claims the verified claims.
+     * @return a result with {@link Status#VALID}.
+     */
+    public static TokenVerificationResult valid(Claims claims) {
+        return new TokenVerificationResult(Status.VALID, claims);
+    }
+
+    /**
+     * Returns the shared result instance for a rejection.
+     *
+     * @param status the reason the token was rejected, anything but {@link Status#VALID}.
+     * @return the result for that status.
+     */
+    public static TokenVerificationResult rejected(Status status) {
+        return switch (status) {
+            case MALFORMED -> MALFORMED;
+            case INVALID_SIGNATURE -> INVALID_SIGNATURE;
+            case EXPIRED -> EXPIRED;
+            case NOT_YET_VALID -> NOT_YET_VALID;
+            case UNSUPPORTED -> UNSUPPORTED;
+            case VALID -> throw new IllegalArgumentException("A rejection needs a failure status.");
+        };
+    }
+
+    /**
+     * @return true if the token was verified, false otherwise.
+     */
+    public boolean isValid() {
+        return status == Status.VALID;
+    }
+}
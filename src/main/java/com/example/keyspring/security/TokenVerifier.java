@@ -0,0 +1,149 @@
+package com.example.keyspring.security;
+
+import com.example.keyspring.model.claim.UserClaim;
+import com.example.keyspring.service.AuthMetrics;
+import io.jsonwebtoken.Claims;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Verifies bearer tokens issued by {@link JweTokenService}, answering repeat tokens from the {@link VerifiedTokenCache}.
+ * <p>
+ * Shared by the {@link JwtAuthenticationFilter}, which authenticates requests, and the introspection
+ * endpoint, which verifies tokens on behalf of gateways, so both accept exactly the same tokens.
+ * Tokens revoked through the {@link TokenRevocationService} are rejected even when they are cached.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+@Component
+public class TokenVerifier {
+
+    private static final Logger logger = LoggerFactory.getLogger(TokenVerifier.class);
+    private static final String DEFAULT_ROLE = "user";
+    private static final String ROLE_PREFIX = "ROLE_";
+
+    private final JweTokenService jweTokenService;
+    private final VerifiedTokenCache tokenCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final AuthMetrics authMetrics;
+
+    /**
+     * Constructs a new {@code TokenVerifier}.
+     *
+     * @param jweTokenService the service used to verify tokens that are not cached yet.
+     * @param tokenCache the cache of already verified tokens.
+     * @param tokenRevocationService the service tracking revoked tokens.
+     * @param authMetrics the metrics recording how long verification of uncached tokens takes.
+     */
+    public TokenVerifier(
+            JweTokenService jweTokenService,
+            VerifiedTokenCache tokenCache,
+            TokenRevocationService tokenRevocationService,
+            AuthMetrics authMetrics) {
+        this.jweTokenService = jweTokenService;
+        this.tokenCache = tokenCache;
+        this.tokenRevocationService = tokenRevocationService;
+        this.authMetrics = authMetrics;
+    }
+
+    /**
+     * Verifies a raw bearer token.
+     *
+     * @param token the raw bearer token, without the {@code Bearer} prefix.
+     * @return the {@link VerifiedToken}, or null if the token is invalid, expired or revoked.
+     */
+    public VerifiedToken verify(String token) {
+        VerifiedTokenCache.Key key = tokenCache.keyOf(token);
+        VerifiedToken verifiedToken = tokenCache.get(key);
+
+        if (verifiedToken == null) {
+            TokenVerificationResult result = authMetrics.time(
+                    AuthMetrics.Stage.TOKEN_PARSE,
+                    () -> jweTokenService.readJWE(token));
+            if (!result.isValid()) {
+                logger.debug("Rejected bearer token: {}", result.status());
+                return null;
+            }
+            verifiedToken = toVerifiedToken(result.claims());
+            tokenCache.put(key, verifiedToken);
+        }
+
+        if (tokenRevocationService.isRevoked(verifiedToken.tokenId())) {
+            logger.debug("Rejected revoked bearer token of user {}", verifiedToken.subject());
+            return null;
+        }
+        return verifiedToken;
+    }
+
+    /**
+     * Maps a role to the authorities used in authorization rules, e.g. {@code user} to {@code ROLE_USER}.
+     * Tokens issued before roles were signed into them are treated as plain users.
+     *
+     * @param role the role, may be null.
+     * @return the granted authorities.
+     */
+    public static List<GrantedAuthority> authoritiesOf(String role) {
+        String effectiveRole = role == null || role.isEmpty() ? DEFAULT_ROLE : role;
+        return List.of(new SimpleGrantedAuthority(ROLE_PREFIX + effectiveRole.toUpperCase(Locale.ROOT)));
+    }
+
+    /**
+     * Maps authorities back to the role they were granted for, e.g. {@code ROLE_USER} to {@code user}.
+     *
+     * @param authorities the authorities of a verified token.
+     * @return the role, or null if no role authority is granted.
+     */
+    public static String roleOf(List<GrantedAuthority> authorities) {
+        for (GrantedAuthority authority : authorities) {
+            String name = authority.getAuthority();
+            if (name != null && name.startsWith(ROLE_PREFIX)) {
+                return name.substring(ROLE_PREFIX.length()).toLowerCase(Locale.ROOT);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Extracts what is needed to authenticate later requests from verified claims.
+     *
+     * @param claims the verified claims of the token.
+     * @return the {@link VerifiedToken} to cache.
+     */
+    private static VerifiedToken toVerifiedToken(Claims claims) {
+        String subject = claims.getSubject();
+        long expiresAt = claims.getExpiration() != null ? claims.getExpiration().getTime() : Long.MAX_VALUE;
+
+        UserClaim principal;
+        if (claims.get(JweTokenService.USER_CLAIM) instanceof Map<?, ?> user) {
+            principal = new UserClaim(
+                    subject,
+                    stringOrNull(user.get("email")),
+                    stringOrNull(user.get("firstName")),
+                    stringOrNull(user.get("lastName")));
+        } else {
+            // Compact claim profiles carry the user's details as flat claims, if at all
+            principal = new UserClaim(
+                    subject,
+                    claims.get(JweTokenService.EMAIL_CLAIM, String.class),
+                    claims.get(JweTokenService.GIVEN_NAME_CLAIM, String.class),
+                    claims.get(JweTokenService.FAMILY_NAME_CLAIM, String.class));
+        }
+
+        String role = claims.get(JweTokenService.ROLE_CLAIM, String.class);
+        return new VerifiedToken(subject, claims.getId(), principal, authoritiesOf(role), expiresAt);
+    }
+
+    private static String stringOrNull(Object value) {
+        return value == null ? null : value.toString();
+    }
+}
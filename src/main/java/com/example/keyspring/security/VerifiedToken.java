@@ -0,0 +1,38 @@
+package com.example.keyspring.security;
+
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.List;
+
+/**
+ * The authentication-relevant parts of a token that already passed signature and claims verification.
+ * <p>
+ * Instances are kept in the {@link VerifiedTokenCache} so repeat requests with the same bearer
+ * token can be authenticated without verifying or parsing it again.
+ *
+ * @param subject the subject (unique ID) of the token.
+ * @param tokenId the ID ({@code jti} claim) of the token, checked against revocations on every use.
+ * @param principal the principal to authenticate requests carrying the token with.
+ * @param authorities the authorities granted to the principal.
+ * @param expiresAtMillis the {@code exp} claim of the token, in epoch milliseconds.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+public record VerifiedToken(
+        String subject,
+        String tokenId,
+        Object principal,
+        List<GrantedAuthority> authorities,
+        long expiresAtMillis) {
+
+    /**
+     * @param nowMillis the current time in epoch milliseconds.
+     * @return true if the token is expired at the given time, false otherwise.
+     */
+    public boolean isExpiredAt(long nowMillis) {
+        return nowMillis > expiresAtMillis;
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.keyspring.security;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, concurrent cache of tokens that already passed verification.
+ * <p>
+ * Entries are keyed by the SHA-256 digest of the raw token, so the cache never holds bearer
+ * tokens themselves, and each entry lives only until the {@code exp} claim of its token. When the
+ * cache reaches {@code keyspring.token-cache.max-entries}, expired entries are purged first and
+ * arbitrary live entries are evicted if that is not enough; an evicted token is simply verified
+ * again on its next use.
+ * </p>
+ * Hit, miss and eviction counters are exposed to size the cache for real traffic.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+@Component
+public class VerifiedTokenCache {
+
+    /**
+     * Cache key holding the 256-bit digest of a token.
+     */
+    public record Key(long a, long b, long c, long d) {
+    }
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    });
+
+    private final ConcurrentHashMap<Key, VerifiedToken> entries;
+    private final int maxEntries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    /**
+     * Constructs a new {@code VerifiedTokenCache}.
+     *
+     * @param maxEntries the maximum number of verified tokens to keep.
+     */
+    public VerifiedTokenCache(@Value("${keyspring.token-cache.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.entries = new ConcurrentHashMap<>(Math.min(maxEntries, 1 << 16));
+    }
+
+    /**
+     * Computes the cache key of a raw token.
+     *
+     * @param token the raw bearer token.
+     * @return the digest-based {@link Key} of the token.
+     */
+    public Key keyOf(String token) {
+        MessageDigest digest = SHA_256.get();
+        ByteBuffer hash = ByteBuffer.wrap(digest.digest(token.getBytes(StandardCharsets.US_ASCII)));
+        return new Key(hash.getLong(), hash.getLong(), hash.getLong(), hash.getLong());
+    }
+
+    /**
+     * Looks up a verified token, dropping it if it has expired in the meantime.
+     *
+     * @param key the key of the token.
+     * @return the cached {@link VerifiedToken}, or null if the token is not cached or has expired.
+     */
+    public VerifiedToken get(Key key) {
+        VerifiedToken cached = entries.get(key);
+        if (cached != null && cached.isExpiredAt(System.currentTimeMillis())) {
+            entries.remove(key, cached);
+            evictions.increment();
+            cached = null;
+        }
+        if (cached == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return cached;
+    }
+
+    /**
+     * Caches a freshly verified token until its expiry.
+     *
+     * @param key the key of the token.
+     * @param verifiedToken the verification result to cache.
+     */
+    public void put(Key key, VerifiedToken verifiedToken) {
+        if (maxEntries <= 0) return;
+        if (entries.size() >= maxEntries) makeRoom();
+        entries.put(key, verifiedToken);
+    }
+
+    /**
+     * @return the number of cached tokens.
+     */
+    public int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * @return the maximum number of cached tokens.
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * @return the number of lookups answered from the cache.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of lookups that required a full verification.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of entries dropped because they expired or the cache was full.
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * Purges expired entries and, if the cache is still full, evicts about one sixteenth of it.
+     */
+    private void makeRoom() {
+        // One thread making room is enough, the others can go ahead and overfill slightly
+        if (!evicting.compareAndSet(false, true)) return;
+        try {
+            purge();
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    private void purge() {
+        long now = System.currentTimeMillis();
+        int before = entries.size();
+        entries.values().removeIf(entry -> entry.isExpiredAt(now));
+
+        int toEvict = entries.size() - maxEntries + Math.max(1, maxEntries / 16);
+        Iterator<Key> keys = entries.keySet().iterator();
+        while (toEvict-- > 0 && keys.hasNext()) {
+            keys.next();
+            keys.remove();
+        }
+        evictions.add(Math.max(0, before - entries.size()));
+    }
+}
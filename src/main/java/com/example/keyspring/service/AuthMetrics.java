@@ -0,0 +1,171 @@
+package com.example.keyspring.service;
+
+import com.example.keyspring.model.response.Response;
+import com.example.keyspring.model.response.ResponseStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Latency and outcome metrics of the authentication pipeline.
+ * <p>
+ * Every stage of a request is timed separately, so a latency spike can be attributed to the database,
+ * to Argon2 or to token signing:
+ * <ul>
+ *     <li>{@code keyspring.auth.stage{stage}} - duration of a single stage, see {@link Stage}.</li>
+ *     <li>{@code keyspring.auth.requests{operation}} - end-to-end duration of an operation.</li>
+ *     <li>{@code keyspring.auth.responses{operation,status}} - number of responses per {@link Response} status.</li>
+ *     <li>{@code keyspring.auth.token.size} - size of issued access tokens in bytes, to compare claim profiles.</li>
+ * </ul>
+ * Timers publish histogram buckets ({@code keyspring.metrics.histograms}), so percentiles can be
+ * aggregated across nodes by the monitoring system instead of being computed here. All meters are
+ * created up front, so recording is a few lock-free additions.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+@Component
+public class AuthMetrics {
+
+    /**
+     * Operations whose outcomes are recorded.
+     */
+    public enum Operation {
+        LOGIN("login"),
+        REGISTER("register"),
+        REFRESH("refresh"),
+        LOGOUT("logout"),
+        INTROSPECT("introspect"),
+        PASSWORD_RESET("password_reset");
+
+        private final String tag;
+
+        Operation(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    /**
+     * Stages of the authentication pipeline that are timed separately.
+     */
+    public enum Stage {
+        VALIDATION("validation"),
+        USER_LOOKUP("user_lookup"),
+        USER_INSERT("user_insert"),
+        PASSWORD_VERIFY("password_verify"),
+        PASSWORD_HASH("password_hash"),
+        TOKEN_SIGN("token_sign"),
+        TOKEN_PARSE("token_parse");
+
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+    }
+
+    private final boolean histograms;
+    private final Map<Stage, Timer> stageTimers = new EnumMap<>(Stage.class);
+    private final Map<Operation, Timer> requestTimers = new EnumMap<>(Operation.class);
+    private final Map<Operation, Map<ResponseStatus, Counter>> responseCounters = new EnumMap<>(Operation.class);
+    private final DistributionSummary tokenSize;
+
+    /**
+     * Constructs a new {@code AuthMetrics} and registers its meters.
+     *
+     * @param registry the registry to publish the meters to.
+     * @param histograms whether timers publish histogram buckets for percentile queries.
+     */
+    @Autowired
+    public AuthMetrics(
+            MeterRegistry registry,
+            @Value("${keyspring.metrics.histograms:true}") boolean histograms) {
+        this.histograms = histograms;
+        for (Stage stage : Stage.values()) {
+            stageTimers.put(stage, timer("keyspring.auth.stage", "Duration of a single stage of the authentication pipeline")
+                    .tag("stage", stage.tag)
+                    .register(registry));
+        }
+        for (Operation operation : Operation.values()) {
+            requestTimers.put(operation, timer("keyspring.auth.requests", "End-to-end duration of an authentication operation")
+                    .tag("operation", operation.tag)
+                    .register(registry));
+            Map<ResponseStatus, Counter> counters = new EnumMap<>(ResponseStatus.class);
+            for (ResponseStatus status : ResponseStatus.values()) {
+                counters.put(status, Counter.builder("keyspring.auth.responses")
+                        .description("Responses of authentication operations by status")
+                        .tag("operation", operation.tag)
+                        .tag("status", status.getCode())
+                        .register(registry));
+            }
+            responseCounters.put(operation, counters);
+        }
+        this.tokenSize = DistributionSummary.builder("keyspring.auth.token.size")
+                .description("Size of issued access tokens")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    /**
+     * Runs a stage and records its duration.
+     *
+     * @param stage the stage being run.
+     * @param task the work of the stage.
+     * @param <T> the result type of the stage.
+     * @return the result of the stage.
+     */
+    public <T> T time(Stage stage, Supplier<T> task) {
+        long start = System.nanoTime();
+        try {
+            return task.get();
+        } finally {
+            stageTimers.get(stage).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Records the outcome and end-to-end duration of an operation.
+     *
+     * @param operation the operation.
+     * @param startNanos the {@link System#nanoTime()} at which the operation started.
+     * @param response the response of the operation.
+     * @return the given response, so the call can be chained.
+     */
+    public Response recordOutcome(Operation operation, long startNanos, Response response) {
+        requestTimers.get(operation).record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+        responseCounters.get(operation).get(response.getStatus()).increment();
+        return response;
+    }
+
+    /**
+     * Records the size of an issued access token.
+     *
+     * @param token the encoded access token.
+     */
+    public void recordTokenSize(String token) {
+        // Tokens are base64url and ASCII only, so their length is their size in bytes
+        tokenSize.record(token.length());
+    }
+
+    private Timer.Builder timer(String name, String description) {
+        Timer.Builder builder = Timer.builder(name).description(description);
+        if (histograms) {
+            builder.publishPercentileHistogram()
+                    .minimumExpectedValue(Duration.ofNanos(10_000))
+                    .maximumExpectedValue(Duration.ofSeconds(10));
+        }
+        return builder;
+    }
+}
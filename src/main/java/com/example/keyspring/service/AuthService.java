@@ -1,229 +1,633 @@
 package com.example.keyspring.service;
 
-import com.example.keyspring.model.User;
+import com.example.keyspring.model.request.LoginRequest;
+import com.example.keyspring.model.request.RefreshTokenRequest;
+import com.example.keyspring.model.request.RegisterRequest;
 import com.example.keyspring.model.response.LoginResponse;
+import com.example.keyspring.model.view.LoginCredentialView;
 import com.example.keyspring.model.response.Response;
+import com.example.keyspring.model.response.ResponseStatus;
 import com.example.keyspring.model.claim.UserClaim;
+import com.example.keyspring.repository.RefreshTokenRepository.ConsumedRefreshToken;
 import com.example.keyspring.repository.UserRepository;
+import com.example.keyspring.security.Argon2Settings;
+import com.example.keyspring.security.HashingRejectedException;
 import com.example.keyspring.security.JweTokenService;
+import com.example.keyspring.security.LoginAttemptTracker;
+import com.example.keyspring.security.PasswordHashingExecutor;
+import com.example.keyspring.security.RefreshTokenService;
+import com.example.keyspring.security.TokenRevocationService;
+import com.example.keyspring.security.TokenVerificationResult;
+import com.example.keyspring.util.ValidationResult;
 import com.example.keyspring.util.ValidationUtils;
+import com.example.keyspring.config.AsyncConfig;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.time.Instant;
+import java.time.ZoneId;
 import java.util.Date;
+import java.util.EnumMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Service class responsible for handling user authentication operations such as registration, login, and password management.
  * Provides methods for validating user input (email, password) and processing user registration.
  * <p>
- * The service also includes password hashing and email validation logic.
+ * The service also includes password hashing and email validation logic. Hashing runs on the
+ * bounded {@link PasswordHashingExecutor} so that it never ties up the request threads, and hashes
+ * stored with outdated Argon2 parameters are upgraded after a successful login.
+ * <p>
+ * Access tokens are short-lived ({@code keyspring.token.access-ttl-seconds}); clients renew them
+ * through {@link #refresh(RefreshTokenRequest)} with the rotating refresh token issued alongside, which needs no
+ * password hashing at all.
+ * <p>
+ * Accounts are locked after repeated failed logins by the {@link LoginAttemptTracker}, which is
+ * consulted before any password is verified, so attempts against a locked account cost no hashing.
+ * Logins for emails that were never registered are turned away by the {@link RegisteredEmailFilter}
+ * without querying the database.
+ * <p>
+ * Registration and login run asynchronously: blocking database work is handed to the I/O pool
+ * ({@link AsyncConfig#IO_EXECUTOR}) and hashing to the hashing pool, so request threads are only held
+ * for validation. Both give up after {@code keyspring.async.request-timeout-ms} with a {@code 503},
+ * unless they have already started writing: a registration or login that times out never inserts the
+ * user, counts the attempt or issues a refresh token, and one that has started to do so is not cut off.
+ * <p>
+ * Every stage and outcome is recorded through {@link AuthMetrics}.
  *
  * @author Arthur Artugue
  * @version 1.0
  * @since 2024-12-21
- * @modified 2024-12-24
+ * @modified 2026-10-17
  */
 @Service
 public class AuthService {
 
     private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
+
+    // Constant responses are serialized once, rejected requests are written without touching Jackson
+    private static final Response INVALID_PASSWORD = Response.prepared(
+            ResponseStatus.UNAUTHORIZED,
+            "Login failed. Invalid password.");
+    private static final Response EMAIL_EXISTS = Response.prepared(
+            ResponseStatus.CONFLICT,
+            "Email already exists.");
+    private static final Response SERVER_BUSY = Response.prepared(
+            ResponseStatus.SERVICE_UNAVAILABLE,
+            "The server is busy. Please try again later.");
+    private static final Response SERVER_ERROR = Response.prepared(
+            ResponseStatus.INTERNAL_SERVER_ERROR,
+            "An unexpected error occurred on the server. Please try again later.");
+    private static final Response USER_NOT_FOUND = Response.prepared(
+            ResponseStatus.NOT_FOUND,
+            "Login failed. User not found.");
+    private static final Response REFRESH_TOKEN_REQUIRED = Response.prepared(
+            ResponseStatus.BAD_REQUEST,
+            "Refresh failed. Refresh token is required.");
+    private static final Response INVALID_REFRESH_TOKEN = Response.prepared(
+            ResponseStatus.UNAUTHORIZED,
+            "Refresh failed. Invalid refresh token.");
+    private static final Response BEARER_TOKEN_REQUIRED = Response.prepared(
+            ResponseStatus.BAD_REQUEST,
+            "Logout failed. Bearer token is required.");
+    private static final Response INVALID_ACCESS_TOKEN = Response.prepared(
+            ResponseStatus.UNAUTHORIZED,
+            "Logout failed. Invalid token.");
+    private static final Response LOGOUT_SUCCESSFUL = Response.prepared(
+            ResponseStatus.OK,
+            "Logout successful.");
+    private static final Response ACCOUNT_LOCKED = Response.prepared(
+            ResponseStatus.LOCKED,
+            "Login failed. Account is temporarily locked due to too many failed attempts.");
+    private static final Map<ValidationResult, Response> VALIDATION_FAILURES = new EnumMap<>(ValidationResult.class);
+
+    static {
+        for (ValidationResult result : ValidationResult.values()) {
+            if (!result.isValid()) {
+                VALIDATION_FAILURES.put(result, Response.prepared(ResponseStatus.BAD_REQUEST, result.getMessage()));
+            }
+        }
+    }
+
     private final JweTokenService jweTokenService;
     private final UserRepository userRepository;
+    private final PasswordHashingExecutor hashingExecutor;
     private final Argon2PasswordEncoder encoder;
+    private final Argon2Settings argon2Settings;
+    private final TokenRevocationService tokenRevocationService;
+    private final RefreshTokenService refreshTokenService;
+    private final LoginAttemptTracker loginAttemptTracker;
+    private final LastLoginRecorder lastLoginRecorder;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final AuthMetrics authMetrics;
+    private final Executor ioExecutor;
+    private final long accessTtlSeconds;
+    private final Executor timeoutExecutor;
 
     @Autowired
-    public AuthService(UserRepository userRepository, JweTokenService jweTokenService) {
+    public AuthService(
+            UserRepository userRepository,
+            JweTokenService jweTokenService,
+            PasswordHashingExecutor hashingExecutor,
+            Argon2PasswordEncoder encoder,
+            Argon2Settings argon2Settings,
+            TokenRevocationService tokenRevocationService,
+            RefreshTokenService refreshTokenService,
+            LoginAttemptTracker loginAttemptTracker,
+            LastLoginRecorder lastLoginRecorder,
+            RegisteredEmailFilter registeredEmailFilter,
+            AuthMetrics authMetrics,
+            @Qualifier(AsyncConfig.IO_EXECUTOR) Executor ioExecutor,
+            @Value("${keyspring.token.access-ttl-seconds:900}") long accessTtlSeconds,
+            @Value("${keyspring.async.request-timeout-ms:5000}") long requestTimeoutMillis) {
         this.userRepository = userRepository;
         this.jweTokenService = jweTokenService;
-        this.encoder = Argon2PasswordEncoder.defaultsForSpringSecurity_v5_8();
+        this.hashingExecutor = hashingExecutor;
+        this.encoder = encoder;
+        this.argon2Settings = argon2Settings;
+        this.tokenRevocationService = tokenRevocationService;
+        this.refreshTokenService = refreshTokenService;
+        this.loginAttemptTracker = loginAttemptTracker;
+        this.lastLoginRecorder = lastLoginRecorder;
+        this.registeredEmailFilter = registeredEmailFilter;
+        this.authMetrics = authMetrics;
+        this.ioExecutor = ioExecutor;
+        this.accessTtlSeconds = accessTtlSeconds;
+        this.timeoutExecutor = CompletableFuture.delayedExecutor(requestTimeoutMillis, TimeUnit.MILLISECONDS);
     }
 
     /**
      * Registers a new user after validating email and password.
+     * Blocks until {@link #registerAsync(RegisterRequest)} completes.
      *
-     * @param user User object containing registration details.
+     * @param request The registration details.
      * @return {@code Response} object indicating the result of the registration attempt.
      */
-    public Response register(User user){
-        try{
-            Map<String, String> userValidation = ValidationUtils.validateUser(user);
-
-            if(userValidation.get("status").equals("false")){
-                return new Response(
-                        "400",
-                        userValidation.get("message"),
-                        null);
-
-            }
-            if(!ValidationUtils.isValidEmailFormat(user.getEmail())){
-                return new Response(
-                        "400",
-                        "Invalid email format.",
-                        null);
-            }
+    public Response register(RegisterRequest request){
+        return registerAsync(request).join();
+    }
 
-            if(validateExistenceOfEmail(user.getEmail())){
-                return new Response(
-                        "409",
-                        "Email already exists.",
-                        null);
-            }
+    /**
+     * Registers a new user after validating email and password, without blocking the calling thread.
+     * <p>
+     * Validation runs on the calling thread, the password is hashed on the hashing pool and the user
+     * is inserted on the I/O pool. The user is inserted with a single statement that skips the insert
+     * when the email is taken, so concurrent registrations of the same email cannot race past a
+     * separate existence check.
+     * </p>
+     *
+     * @param request The registration details.
+     * @return a future completing with the {@code Response} of the registration attempt, never exceptionally.
+     */
+    public CompletableFuture<Response> registerAsync(RegisterRequest request){
+        long start = System.nanoTime();
+        return attemptRegistration(request)
+                .thenApply(response -> authMetrics.recordOutcome(AuthMetrics.Operation.REGISTER, start, response));
+    }
 
-            Map<String, String> passwordValidation = ValidationUtils.validatePasswordStrength(
-                    user.getPassword());
-            if(passwordValidation.get("status").equals("false")){
-                return new Response(
-                        "400",
-                        passwordValidation.get("message"),
-                        null);
+    /**
+     * Performs the registration described in {@link #registerAsync(RegisterRequest)}.
+     *
+     * @param request The registration details.
+     * @return a future completing with the {@code Response} of the registration attempt, never exceptionally.
+     */
+    private CompletableFuture<Response> attemptRegistration(RegisterRequest request){
+        try{
+            String email = ValidationUtils.normalizeEmail(request.email());
+            ValidationResult validation = authMetrics.time(
+                    AuthMetrics.Stage.VALIDATION,
+                    () -> validateRegistration(email, request));
+            if(!validation.isValid()){
+                return CompletableFuture.completedFuture(VALIDATION_FAILURES.get(validation));
             }
 
-            user.setPrefix("ksl");
-            user.setPassword(hashPassword(user.getPassword()));
-
-            userRepository.save(user);
-            return new Response(
-                    "200",
-                    "User registered successfully.",
-                    null);
+            String rawPassword = request.password();
+            AtomicBoolean decided = new AtomicBoolean();
+            CompletableFuture<Response> pipeline = hashingExecutor
+                    .submit(() -> authMetrics.time(AuthMetrics.Stage.PASSWORD_HASH, () -> encoder.encode(rawPassword)))
+                    .thenApplyAsync(hash -> {
+                        beginSideEffects(decided);
+                        return authMetrics.time(AuthMetrics.Stage.USER_INSERT, () -> insertUser(email, request, hash));
+                    }, ioExecutor);
+            return withTimeout(pipeline, decided)
+                    .exceptionally(e -> failure("user registration", e));
         }catch (Exception e){
-            // TODO: Save error logs to database
-            logger.error("Error occurred during user registration: {}", e.getMessage(), e);
-            return new Response(
-                    "500",
-                    "An unexpected error occurred on the server. Please try again later.",
-                    null);
+            return CompletableFuture.completedFuture(failure("user registration", e));
         }
     }
 
     /**
      * Authenticates a user based on the provided email and password.
+     * Blocks until {@link #loginAsync(LoginRequest)} completes.
+     *
+     * @param request The email and password of the user.
+     * @return A {@link Response} object containing the status and message of the login attempt.
+     */
+    public Response login(LoginRequest request){
+        return loginAsync(request).join();
+    }
+
+    /**
+     * Authenticates a user based on the provided email and password, without blocking the calling thread.
      * <p>
      * This method validates the login credentials, checks if the user exists,
      * and returns a response indicating the success or failure of the login attempt.
+     * Validation and the in-memory lockout and email checks run on the calling thread, so cheap
+     * rejections complete immediately. The user is loaded on the I/O pool, the password verified on
+     * the hashing pool, and the tokens issued back on the I/O pool.
      * </p>
      *
-     * @param requestBody A map containing the email and password of the user.
-     * @return A {@link Response} object containing the status and message of the login attempt.
+     * @param request The email and password of the user.
+     * @return a future completing with the {@link Response} of the login attempt, never exceptionally.
+     */
+    public CompletableFuture<Response> loginAsync(LoginRequest request){
+        long start = System.nanoTime();
+        return attemptLogin(request)
+                .thenApply(response -> authMetrics.recordOutcome(AuthMetrics.Operation.LOGIN, start, response));
+    }
+
+    /**
+     * Performs the login described in {@link #loginAsync(LoginRequest)}.
+     *
+     * @param request The email and password of the user.
+     * @return a future completing with the {@link Response} of the login attempt, never exceptionally.
      */
-    public Response login(Map<String, String > requestBody){
+    private CompletableFuture<Response> attemptLogin(LoginRequest request){
         try{
-            if(requestBody.isEmpty()){
-                return new Response(
-                        "400",
-                        "Login failed. Email and password are required.",
-                        null);
+            String email = ValidationUtils.normalizeEmail(request.email());
+            String password = request.password();
+
+            ValidationResult credentialsValidation = authMetrics.time(
+                    AuthMetrics.Stage.VALIDATION,
+                    () -> ValidationUtils.validateLoginCredentials(email, password));
+            if(!credentialsValidation.isValid()){
+                return CompletableFuture.completedFuture(VALIDATION_FAILURES.get(credentialsValidation));
             }
-            if(!requestBody.containsKey("email")||!requestBody.containsKey("password")){
-                return new Response(
-                        "400",
-                        "Login failed. Email and password are required.",
-                        null);
+
+            if(loginAttemptTracker.isLocked(email)){
+                return CompletableFuture.completedFuture(ACCOUNT_LOCKED);
             }
-            if(requestBody.get("email").isEmpty()||requestBody.get("password").isEmpty()){
-                return new Response(
-                        "400",
-                        "Login failed. Email and password are required.",
-                        null);
+            if(!registeredEmailFilter.mightExist(email)){
+                return CompletableFuture.completedFuture(USER_NOT_FOUND);
             }
 
-            String email = requestBody.get("email");
-            String password = requestBody.get("password");
+            AtomicBoolean decided = new AtomicBoolean();
+            CompletableFuture<Response> pipeline = CompletableFuture.supplyAsync(
+                            () -> authMetrics.time(AuthMetrics.Stage.USER_LOOKUP, () -> findLoginCredentials(email)),
+                            ioExecutor)
+                    .thenCompose(dbUser -> verifyLogin(dbUser, password, decided));
+            return withTimeout(pipeline, decided)
+                    .exceptionally(e -> failure("user login", e));
+        }catch (Exception e){
+            return CompletableFuture.completedFuture(failure("user login", e));
+        }
+    }
+
+    /**
+     * Verifies the password of a loaded user on the hashing pool and completes the login.
+     *
+     * @param dbUser The login credentials of the user, or null if the user does not exist.
+     * @param password The raw password provided by the user.
+     * @param decided The flag deciding between completing the login and timing out.
+     * @return a future completing with the {@link Response} of the login attempt.
+     */
+    private CompletableFuture<Response> verifyLogin(LoginCredentialView dbUser, String password, AtomicBoolean decided){
+        if(dbUser == null){
+            return CompletableFuture.completedFuture(USER_NOT_FOUND);
+        }
+        if(loginAttemptTracker.isLocked(dbUser)){
+            return CompletableFuture.completedFuture(ACCOUNT_LOCKED);
+        }
+        return hashingExecutor.submit(() -> authMetrics.time(
+                        AuthMetrics.Stage.PASSWORD_VERIFY,
+                        () -> encoder.matches(password, dbUser.password())))
+                .thenApplyAsync(matches -> {
+                    beginSideEffects(decided);
+                    return completeLogin(dbUser, password, matches);
+                }, ioExecutor);
+    }
+
+    /**
+     * Fails a request pipeline with a {@link TimeoutException} once the request timeout has passed,
+     * unless its side effects have already begun. Unlike {@link CompletableFuture#orTimeout}, a timed
+     * out request therefore never writes anything, and a request that writes is answered with its outcome.
+     * The timeout runs on the JDK's shared delayer, so there is no pool of our own to shut down; once the
+     * pipeline is complete it does nothing.
+     *
+     * @param pipeline The pipeline of the request.
+     * @param decided The flag set by whichever comes first, the timeout or {@link #beginSideEffects(AtomicBoolean)}.
+     * @return the pipeline.
+     */
+    private <T> CompletableFuture<T> withTimeout(CompletableFuture<T> pipeline, AtomicBoolean decided){
+        timeoutExecutor.execute(() -> {
+            if(decided.compareAndSet(false, true)){
+                pipeline.completeExceptionally(new TimeoutException());
+            }
+        });
+        return pipeline;
+    }
+
+    /**
+     * Claims a request for its side effects, or aborts the stage if the request has already timed out.
+     *
+     * @param decided The flag shared with {@link #withTimeout(CompletableFuture, AtomicBoolean)}.
+     * @throws CompletionException wrapping a {@link TimeoutException} if the request timed out.
+     */
+    private static void beginSideEffects(AtomicBoolean decided){
+        if(!decided.compareAndSet(false, true)){
+            throw new CompletionException(new TimeoutException());
+        }
+    }
 
-            if(!ValidationUtils.isValidEmailFormat(email)){
-                return new Response(
-                        "400",
-                        "Login failed. Invalid email format.",
-                        null);
+    /**
+     * Records the outcome of a verified login and issues tokens if the password matched.
+     *
+     * @param dbUser The login credentials of the user.
+     * @param password The raw password provided by the user.
+     * @param matches Whether the password matched the stored hash.
+     * @return The {@link Response} of the login attempt.
+     */
+    private Response completeLogin(LoginCredentialView dbUser, String password, boolean matches){
+        if(!matches){
+            if(loginAttemptTracker.recordFailure(dbUser)){
+                logger.warn("Locked account {} after repeated failed logins", dbUser.uniqueId());
             }
+            return INVALID_PASSWORD;
+        }
+        loginAttemptTracker.recordSuccess(dbUser);
+        lastLoginRecorder.record(dbUser.id());
+        rehashIfOutdated(dbUser, password);
 
-            User dbUser = findUserByEmail(email);
+        LoginResponse loginResponse = issueTokens(
+                new UserClaim(
+                        dbUser.uniqueId(),
+                        dbUser.email(),
+                        dbUser.firstName(),
+                        dbUser.lastName()),
+                dbUser.role(),
+                refreshTokenService.issue(dbUser.id()));
+        return new Response(
+                ResponseStatus.OK,
+                "Login successful.",
+                loginResponse);
+    }
 
-            if(dbUser == null){
-                return new Response(
-                        "404",
-                        "Login failed. User not found.",
-                        null);
+    /**
+     * Validates the registration details.
+     *
+     * @param email The normalized email of the user.
+     * @param request The registration details.
+     * @return The first failed {@link ValidationResult}, or a valid one if all checks passed.
+     */
+    private static ValidationResult validateRegistration(String email, RegisterRequest request){
+        ValidationResult userValidation = ValidationUtils.validateUser(
+                email, request.password(), request.firstName(), request.lastName());
+        if(!userValidation.isValid()){
+            return userValidation;
+        }
+        if(!ValidationUtils.isValidEmailFormat(email)){
+            return ValidationResult.EMAIL_INVALID_FORMAT;
+        }
+        ValidationResult lengthValidation = ValidationUtils.validateFieldLengths(
+                email, request.firstName(), request.lastName(), request.phoneNumber());
+        if(!lengthValidation.isValid()){
+            return lengthValidation;
+        }
+        return ValidationUtils.validatePasswordStrength(request.password());
+    }
+
+    /**
+     * Inserts a validated user with its hashed password.
+     *
+     * @param email The normalized email of the user.
+     * @param request The validated registration details.
+     * @param passwordHash The hash of the password of the user.
+     * @return The {@link Response} of the registration attempt.
+     */
+    private Response insertUser(String email, RegisterRequest request, String passwordHash){
+        Optional<String> uniqueId = userRepository.insertIfEmailAbsent(
+                "ksl",
+                email,
+                passwordHash,
+                request.firstName(),
+                request.lastName(),
+                request.phoneNumber());
+        if(uniqueId.isEmpty()){
+            return EMAIL_EXISTS;
+        }
+        registeredEmailFilter.add(email);
+        return new Response(
+                ResponseStatus.OK,
+                "User registered successfully.",
+                Map.of("unique_id", uniqueId.get()));
+    }
+
+    /**
+     * Maps a failure of an asynchronous operation to a response.
+     * Saturated pools and timeouts are reported as {@code 503}, anything else as {@code 500}.
+     *
+     * @param operation The operation that failed, for logging.
+     * @param error The failure, possibly wrapped in a {@link CompletionException}.
+     * @return The {@link Response} to return to the client.
+     */
+    private static Response failure(String operation, Throwable error){
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if(cause instanceof HashingRejectedException
+                || cause instanceof RejectedExecutionException
+                || cause instanceof TimeoutException){
+            logger.warn("Rejected {}, the server is saturated: {}", operation, cause.getClass().getSimpleName());
+            return SERVER_BUSY;
+        }
+        // TODO: Save error logs to database
+        logger.error("Error occurred during {}: {}", operation, cause.getMessage(), cause);
+        return SERVER_ERROR;
+    }
+
+    /**
+     * Exchanges a refresh token for a new access token and a new refresh token.
+     * <p>
+     * The presented refresh token is consumed; presenting it again revokes every token issued
+     * since the login it descends from.
+     * </p>
+     *
+     * @param request The refresh token to exchange.
+     * @return A {@link Response} object containing the status and message of the refresh attempt.
+     */
+    public Response refresh(RefreshTokenRequest request){
+        long start = System.nanoTime();
+        return authMetrics.recordOutcome(AuthMetrics.Operation.REFRESH, start, attemptRefresh(request));
+    }
+
+    /**
+     * Performs the refresh described in {@link #refresh(RefreshTokenRequest)}.
+     *
+     * @param request The refresh token to exchange.
+     * @return A {@link Response} object containing the status and message of the refresh attempt.
+     */
+    private Response attemptRefresh(RefreshTokenRequest request){
+        try{
+            String refreshToken = request.refreshToken();
+            if(refreshToken == null || refreshToken.isBlank()){
+                return REFRESH_TOKEN_REQUIRED;
             }
-            if(!validatePassword(password, dbUser.getPassword())){
-                return new Response(
-                        "401",
-                        "Login failed. Invalid password.",
-                        null);
+
+            Optional<RefreshTokenService.Rotation> rotation = refreshTokenService.rotate(refreshToken);
+            if(rotation.isEmpty()){
+                return INVALID_REFRESH_TOKEN;
             }
 
-            Date expiresAt = Date.from(Instant.now().plusSeconds(3600));
-            LoginResponse loginResponse = new LoginResponse(
-                    jweTokenService.createJweToken(
-                            new UserClaim(
-                                    dbUser.getUnique_id(),
-                                    dbUser.getEmail(),
-                                    dbUser.getFirst_name(),
-                                    dbUser.getLast_name()),
-                            dbUser.getUnique_id(),
-                            Date.from(Instant.now()),
-                            expiresAt
-                    ),
-                    expiresAt.getTime()/1000
-            );
+            ConsumedRefreshToken owner = rotation.get().owner();
+            LoginResponse loginResponse = issueTokens(
+                    new UserClaim(
+                            owner.getUnique_id(),
+                            owner.getEmail(),
+                            owner.getFirst_name(),
+                            owner.getLast_name()),
+                    owner.getRole(),
+                    rotation.get().next());
             return new Response(
-                    "200",
-                    "Login successful.",
+                    ResponseStatus.OK,
+                    "Token refreshed successfully.",
                     loginResponse);
         }catch (Exception e){
-            // TODO: Save error logs to database
-            logger.error("Error occurred during user login: {}", e.getMessage(), e);
-            return new Response(
-                    "500",
-                    "An unexpected error occurred on the server. Please try again later.",
-                    null);
+            logger.error("Error occurred during token refresh: {}", e.getMessage(), e);
+            return SERVER_ERROR;
         }
     }
 
     /**
-     * Hashes the password using Argon2 algorithm.
+     * Logs a user out by revoking the access token the request was made with.
+     * <p>
+     * The token stays revoked until it would have expired, on every node. If a refresh token is
+     * given as well, it is revoked together with every token rotated from the same login, unless it
+     * belongs to a user other than the one the access token was issued to.
+     * </p>
      *
-     * @param password The raw password to hash.
-     * @return The hashed password.
+     * @param authorizationHeader The {@code Authorization} header of the request.
+     * @param refreshToken The refresh token to revoke, may be null.
+     * @return A {@link Response} object containing the status and message of the logout attempt.
      */
-    public String hashPassword(String password){
-        return encoder.encode(password);
+    public Response logout(String authorizationHeader, String refreshToken){
+        long start = System.nanoTime();
+        return authMetrics.recordOutcome(AuthMetrics.Operation.LOGOUT, start, attemptLogout(authorizationHeader, refreshToken));
     }
 
     /**
-     * Checks if the provided raw password matches the hashed password stored in the database.
+     * Performs the logout described in {@link #logout(String, String)}.
      *
-     * @param rawPassword The raw password provided by the user.
-     * @param dbHashedPassword The hashed password stored in the database.
-     * @return true if the passwords match, false otherwise.
+     * @param authorizationHeader The {@code Authorization} header of the request.
+     * @param refreshToken The refresh token to revoke, may be null.
+     * @return A {@link Response} object containing the status and message of the logout attempt.
      */
-    private boolean validatePassword(String rawPassword, String dbHashedPassword){
-        return encoder.matches(rawPassword, dbHashedPassword);
+    private Response attemptLogout(String authorizationHeader, String refreshToken){
+        try{
+            if(authorizationHeader == null || !authorizationHeader.startsWith("Bearer ")){
+                return BEARER_TOKEN_REQUIRED;
+            }
+
+            TokenVerificationResult verification = authMetrics.time(
+                    AuthMetrics.Stage.TOKEN_PARSE,
+                    () -> jweTokenService.readJWE(authorizationHeader.substring(7)));
+            if(!verification.isValid()
+                    || verification.claims().getId() == null
+                    || verification.claims().getExpiration() == null){
+                return INVALID_ACCESS_TOKEN;
+            }
+
+            tokenRevocationService.revoke(
+                    verification.claims().getId(),
+                    verification.claims().getExpiration().toInstant());
+            // Only the bearer's own refresh tokens can be revoked
+            String subject = verification.claims().getSubject();
+            if(refreshToken != null && !refreshToken.isBlank() && subject != null){
+                refreshTokenService.revoke(refreshToken, subject);
+            }
+            return LOGOUT_SUCCESSFUL;
+        }catch (Exception e){
+            logger.error("Error occurred during user logout: {}", e.getMessage(), e);
+            return SERVER_ERROR;
+        }
+    }
+
+    /**
+     * Signs a new access token and bundles it with a refresh token.
+     *
+     * @param userClaim The user claim to sign into the access token.
+     * @param role The role of the user.
+     * @param refreshToken The refresh token issued alongside.
+     * @return The {@link LoginResponse} returned to the client.
+     */
+    private LoginResponse issueTokens(UserClaim userClaim, String role, RefreshTokenService.IssuedRefreshToken refreshToken){
+        Instant now = Instant.now();
+        Date expiresAt = Date.from(now.plusSeconds(accessTtlSeconds));
+        String accessToken = authMetrics.time(AuthMetrics.Stage.TOKEN_SIGN, () -> jweTokenService.createJweToken(
+                userClaim,
+                userClaim.getUniqueId(),
+                role,
+                Date.from(now),
+                expiresAt));
+        authMetrics.recordTokenSize(accessToken);
+        return new LoginResponse(
+                accessToken,
+                expiresAt.getTime()/1000,
+                refreshToken.token(),
+                refreshToken.expiresAt().atZone(ZoneId.systemDefault()).toEpochSecond());
+    }
+
+    /**
+     * Hashes the password using Argon2 algorithm on the password hashing pool.
+     *
+     * @param password The raw password to hash.
+     * @return The hashed password.
+     * @throws HashingRejectedException if the hashing pool is saturated.
+     */
+    public String hashPassword(String password){
+        return hashingExecutor.call(() -> encoder.encode(password));
     }
 
     /**
-     * Validates the user's email to ensure it is unique.
+     * Upgrades the stored hash of a user whose password was just verified, if it was produced with
+     * Argon2 parameters other than the current ones.
+     * <p>
+     * The new hash is computed on the hashing pool in the background so the login is not slowed
+     * down, and stored from the I/O pool so no hashing worker waits on the database. A failed upgrade
+     * is only logged; it will simply be retried on the next login.
      *
-     * @param email The email to validate.
-     * @return true if the email exists, false otherwise.
+     * @param user The user whose password was verified.
+     * @param rawPassword The verified raw password.
      */
-    public Boolean validateExistenceOfEmail(String email){
-        return userRepository.findByEmail(email).isPresent();
+    private void rehashIfOutdated(LoginCredentialView user, String rawPassword){
+        String currentHash = user.password();
+        if(!argon2Settings.needsRehash(currentHash)) return;
+
+        hashingExecutor.submit(() -> encoder.encode(rawPassword))
+                .thenAcceptAsync(newHash -> userRepository.updatePasswordHash(user.id(), currentHash, newHash), ioExecutor)
+                .exceptionally(e -> {
+                    logger.warn("Could not upgrade password hash for user {}: {}", user.uniqueId(), e.getMessage());
+                    return null;
+                });
     }
 
     /**
-     * Finds a user by their email address.
+     * Finds the login credentials of a user by their email address.
      *
      * @param email The email address of the user to find.
-     * @return The {@link User} object if found, otherwise returns null.
+     * @return The {@link LoginCredentialView} if found, otherwise returns null.
      */
-    public User findUserByEmail(String email) {
-        return userRepository.findByEmail(email).orElse(null);
+    public LoginCredentialView findLoginCredentials(String email) {
+        return userRepository.findLoginCredentialsByEmail(email).orElse(null);
     }
 }
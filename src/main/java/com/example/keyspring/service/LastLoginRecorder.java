@@ -0,0 +1,151 @@
+package com.example.keyspring.service;
+
+import com.example.keyspring.repository.UserRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Component that maintains {@code users.last_login_at} without a write per login.
+ * <p>
+ * Logins only record their time in memory, where repeated logins of the same user coalesce into
+ * one pending entry. The pending entries are written with a single batched update once
+ * {@code keyspring.last-login.batch-size} users are pending or the oldest entry is
+ * {@code keyspring.last-login.max-staleness-ms} old, checked every {@code keyspring.last-login.flush-interval-ms},
+ * and everything pending is written on shutdown. After a failed write the entries are kept and retried
+ * with an exponential backoff, starting at one second and capped at {@code keyspring.last-login.max-backoff-ms},
+ * so an unavailable database is not hit, nor the log filled, every flush interval.
+ * </p>
+ * The column is therefore up to the maximum staleness behind, and entries pending when the process
+ * dies without shutting down are lost.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+@Component
+public class LastLoginRecorder {
+
+    private static final Logger logger = LoggerFactory.getLogger(LastLoginRecorder.class);
+    private static final long INITIAL_BACKOFF_MILLIS = 1000;
+
+    private final UserRepository userRepository;
+    private final int batchSize;
+    private final long maxStalenessMillis;
+    private final long maxBackoffMillis;
+
+    private final ConcurrentHashMap<Long, Long> pending = new ConcurrentHashMap<>();
+    private final AtomicLong oldestPendingMillis = new AtomicLong();
+    private volatile int consecutiveFailures;
+    private volatile long retryNotBeforeMillis;
+
+    /**
+     * Constructs a new {@code LastLoginRecorder}.
+     *
+     * @param userRepository the repository the login times are written to.
+     * @param batchSize the number of pending users that triggers a write.
+     * @param maxStalenessMillis the longest a login time may stay pending.
+     * @param maxBackoffMillis the longest wait before retrying a failed write.
+     */
+    public LastLoginRecorder(
+            UserRepository userRepository,
+            @Value("${keyspring.last-login.batch-size:500}") int batchSize,
+            @Value("${keyspring.last-login.max-staleness-ms:30000}") long maxStalenessMillis,
+            @Value("${keyspring.last-login.max-backoff-ms:60000}") long maxBackoffMillis) {
+        this.userRepository = userRepository;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxStalenessMillis = maxStalenessMillis;
+        this.maxBackoffMillis = Math.max(INITIAL_BACKOFF_MILLIS, maxBackoffMillis);
+    }
+
+    /**
+     * Records that a user has just logged in.
+     *
+     * @param userId the ID of the user.
+     */
+    public void record(Long userId) {
+        long now = System.currentTimeMillis();
+        if (pending.merge(userId, now, Math::max) == now) {
+            oldestPendingMillis.compareAndSet(0, now);
+        }
+    }
+
+    /**
+     * Writes the pending login times if enough have accumulated or the oldest has become too stale,
+     * unless a failed write is still backing off.
+     */
+    @Scheduled(
+            initialDelayString = "${keyspring.last-login.flush-interval-ms:1000}",
+            fixedDelayString = "${keyspring.last-login.flush-interval-ms:1000}")
+    public void flushIfDue() {
+        long oldest = oldestPendingMillis.get();
+        if (oldest == 0) return;
+        long now = System.currentTimeMillis();
+        if (now < retryNotBeforeMillis) return;
+        if (pending.size() >= batchSize || now - oldest >= maxStalenessMillis) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes all pending login times in one batch.
+     */
+    public void flush() {
+        oldestPendingMillis.set(0);
+        Map<Long, LocalDateTime> batch = new HashMap<>();
+        for (Long userId : pending.keySet()) {
+            Long loggedInAt = pending.remove(userId);
+            if (loggedInAt != null) {
+                batch.put(userId, LocalDateTime.ofInstant(Instant.ofEpochMilli(loggedInAt), ZoneId.systemDefault()));
+            }
+        }
+        if (batch.isEmpty()) return;
+
+        try {
+            userRepository.updateLastLoginAt(batch);
+            if (consecutiveFailures > 0) {
+                logger.info("Wrote last login times again after {} failed attempts", consecutiveFailures);
+                consecutiveFailures = 0;
+                retryNotBeforeMillis = 0;
+            }
+        } catch (Exception e) {
+            int failures = ++consecutiveFailures;
+            long backoff = Math.min(maxBackoffMillis, INITIAL_BACKOFF_MILLIS << Math.min(failures - 1, 30));
+            retryNotBeforeMillis = System.currentTimeMillis() + backoff;
+            logger.warn("Could not write {} last login times ({} consecutive failures), retrying in {} ms: {}",
+                    batch.size(), failures, backoff, e.getMessage());
+            batch.forEach((userId, loggedInAt) -> {
+                long millis = loggedInAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                pending.merge(userId, millis, Math::max);
+                oldestPendingMillis.compareAndSet(0, millis);
+            });
+        }
+    }
+
+    /**
+     * Writes everything still pending before the application shuts down.
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    /**
+     * @return the number of users whose login time has not been written yet.
+     */
+    public int getPendingCount() {
+        return pending.size();
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.keyspring.service;
+
+import java.time.LocalDateTime;
+
+/**
+ * Delivers password reset tokens to users, e.g. as a link in an email.
+ * <p>
+ * Declare a bean implementing this interface to deliver tokens; without one, {@link PasswordResetService}
+ * refuses reset requests and issues no tokens.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+@FunctionalInterface
+public interface PasswordResetSender {
+
+    /**
+     * Delivers a password reset token. Called on the I/O pool, after the token has been stored.
+     *
+     * @param email the normalized email address of the user.
+     * @param token the password reset token; only its digest is stored, so this is the only copy.
+     * @param expiresAt the expiry of the token.
+     */
+    void send(String email, String token, LocalDateTime expiresAt);
+}
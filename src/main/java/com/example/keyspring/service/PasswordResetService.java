@@ -0,0 +1,372 @@
+package com.example.keyspring.service;
+
+import com.example.keyspring.config.AsyncConfig;
+import com.example.keyspring.model.request.PasswordResetConfirmRequest;
+import com.example.keyspring.model.request.PasswordResetRequest;
+import com.example.keyspring.model.response.Response;
+import com.example.keyspring.model.response.ResponseStatus;
+import com.example.keyspring.repository.RefreshTokenRepository;
+import com.example.keyspring.repository.UserRepository;
+import com.example.keyspring.security.HashingRejectedException;
+import com.example.keyspring.security.LoginAttemptTracker;
+import com.example.keyspring.util.ValidationResult;
+import com.example.keyspring.util.ValidationUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Service class responsible for resetting forgotten passwords.
+ * <p>
+ * A reset token is 256 random bits, of which only the SHA-256 digest is stored in
+ * {@code users.password_reset_token}. Tokens are looked up through a partial unique index that only
+ * covers users with a pending reset, so the index stays small however many users there are. Setting
+ * the new password clears the token and any login lockout in the same statement, so a token can be
+ * used exactly once, and revokes every refresh token of the user.
+ * </p>
+ * Requesting a reset always gets the same answer whether or not the email is registered; the token
+ * is stored and handed to the {@link PasswordResetSender} on the I/O pool, so the response time does
+ * not reveal it either. A user's token is not replaced while it is younger than the request cooldown,
+ * so repeated requests neither flood their inbox nor keep invalidating the token they were just sent,
+ * and each client address may only request a limited number of resets per window. Without a
+ * {@link PasswordResetSender} bean there is no way to deliver a token, so requests are refused and
+ * no token is issued; tokens are never written to the log.
+ * <p>
+ * Expired tokens are cleared in chunks of short transactions that skip rows locked by other
+ * requests, so a sweep never holds locks on {@code users} for long or produces a burst of writes.
+ * <ul>
+ *     <li>{@code keyspring.password-reset.ttl-seconds} - lifetime of each reset token.</li>
+ *     <li>{@code keyspring.password-reset.request-cooldown-seconds} - minimum age of a token before a new one replaces it.</li>
+ *     <li>{@code keyspring.password-reset.max-requests-per-ip} - reset requests allowed per client address and window.</li>
+ *     <li>{@code keyspring.password-reset.ip-window-seconds} - length of the per address window.</li>
+ *     <li>{@code keyspring.password-reset.sweep-interval-ms} - how often expired tokens are cleared.</li>
+ *     <li>{@code keyspring.password-reset.sweep-chunk-size} - number of tokens cleared per transaction.</li>
+ *     <li>{@code keyspring.password-reset.sweep-pause-ms} - pause between two chunks of a sweep.</li>
+ * </ul>
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+@Service
+public class PasswordResetService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordResetService.class);
+    private static final Base64.Encoder BASE64URL_ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final HexFormat HEX = HexFormat.of();
+    private static final int TOKEN_BYTES = 32;
+
+    private static final Response RESET_REQUESTED = Response.prepared(
+            ResponseStatus.OK,
+            "If the email is registered, a password reset token has been sent to it.");
+    private static final Response EMAIL_INVALID = Response.prepared(
+            ResponseStatus.BAD_REQUEST,
+            ValidationResult.EMAIL_INVALID_FORMAT.getMessage());
+    private static final Response TOKEN_REQUIRED = Response.prepared(
+            ResponseStatus.BAD_REQUEST,
+            "Password reset failed. Reset token is required.");
+    private static final Response INVALID_TOKEN = Response.prepared(
+            ResponseStatus.BAD_REQUEST,
+            "Password reset failed. Invalid or expired reset token.");
+    private static final Response RESET_SUCCESSFUL = Response.prepared(
+            ResponseStatus.OK,
+            "Password reset successfully.");
+    private static final Response RESET_UNAVAILABLE = Response.prepared(
+            ResponseStatus.NOT_FOUND,
+            "Password reset is not available.");
+    private static final Response TOO_MANY_REQUESTS = Response.prepared(
+            ResponseStatus.TOO_MANY_REQUESTS,
+            "Too many password reset requests. Please try again later.");
+    private static final Response SERVER_BUSY = Response.prepared(
+            ResponseStatus.SERVICE_UNAVAILABLE,
+            "The server is busy. Please try again later.");
+    private static final Response SERVER_ERROR = Response.prepared(
+            ResponseStatus.INTERNAL_SERVER_ERROR,
+            "An unexpected error occurred on the server. Please try again later.");
+    private static final Map<ValidationResult, Response> VALIDATION_FAILURES = new EnumMap<>(ValidationResult.class);
+
+    static {
+        for (ValidationResult result : ValidationResult.values()) {
+            if (!result.isValid()) {
+                VALIDATION_FAILURES.put(result, Response.prepared(ResponseStatus.BAD_REQUEST, result.getMessage()));
+            }
+        }
+    }
+
+    /**
+     * The reset requests of one client address in the current window.
+     *
+     * @param startMillis the epoch millis at which the window started.
+     * @param requests the number of requests made in the window.
+     */
+    private record RequestWindow(long startMillis, int requests) {
+    }
+
+    private final UserRepository userRepository;
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final AuthService authService;
+    private final LoginAttemptTracker loginAttemptTracker;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final AuthMetrics authMetrics;
+    private final Executor ioExecutor;
+    private final PasswordResetSender sender;
+    private final long ttlSeconds;
+    private final long cooldownSeconds;
+    private final int maxRequestsPerIp;
+    private final long ipWindowMillis;
+    private final int sweepChunkSize;
+    private final long sweepPauseMillis;
+    private final SecureRandom random = new SecureRandom();
+    private final ConcurrentHashMap<String, RequestWindow> requestWindows = new ConcurrentHashMap<>();
+
+    /**
+     * Constructs a new {@code PasswordResetService}.
+     *
+     * @param userRepository the repository holding the reset token digests.
+     * @param refreshTokenRepository the repository of refresh tokens revoked after a reset.
+     * @param authService the service hashing the new passwords.
+     * @param loginAttemptTracker the tracker whose lockout is lifted after a reset.
+     * @param registeredEmailFilter the filter letting requests for unknown emails skip the database.
+     * @param authMetrics the metrics of the auth pipeline.
+     * @param ioExecutor the pool storing and sending reset tokens.
+     * @param senders the sender delivering reset tokens; reset requests are refused if none is declared.
+     * @param ttlSeconds the lifetime of each reset token in seconds.
+     * @param cooldownSeconds the minimum age of a token, in seconds, before a new request replaces it.
+     * @param maxRequestsPerIp the number of reset requests allowed per client address and window.
+     * @param ipWindowSeconds the length of the per address window in seconds.
+     * @param sweepChunkSize the number of expired tokens cleared per transaction.
+     * @param sweepPauseMillis the pause between two chunks of a sweep.
+     */
+    public PasswordResetService(
+            UserRepository userRepository,
+            RefreshTokenRepository refreshTokenRepository,
+            AuthService authService,
+            LoginAttemptTracker loginAttemptTracker,
+            RegisteredEmailFilter registeredEmailFilter,
+            AuthMetrics authMetrics,
+            @Qualifier(AsyncConfig.IO_EXECUTOR) Executor ioExecutor,
+            ObjectProvider<PasswordResetSender> senders,
+            @Value("${keyspring.password-reset.ttl-seconds:1800}") long ttlSeconds,
+            @Value("${keyspring.password-reset.request-cooldown-seconds:300}") long cooldownSeconds,
+            @Value("${keyspring.password-reset.max-requests-per-ip:10}") int maxRequestsPerIp,
+            @Value("${keyspring.password-reset.ip-window-seconds:3600}") long ipWindowSeconds,
+            @Value("${keyspring.password-reset.sweep-chunk-size:500}") int sweepChunkSize,
+            @Value("${keyspring.password-reset.sweep-pause-ms:50}") long sweepPauseMillis) {
+        this.userRepository = userRepository;
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.authService = authService;
+        this.loginAttemptTracker = loginAttemptTracker;
+        this.registeredEmailFilter = registeredEmailFilter;
+        this.authMetrics = authMetrics;
+        this.ioExecutor = ioExecutor;
+        this.sender = senders.getIfAvailable();
+        if (sender == null) {
+            logger.warn("No PasswordResetSender declared, password reset requests are turned off.");
+        }
+        this.ttlSeconds = ttlSeconds;
+        this.cooldownSeconds = Math.min(Math.max(0, cooldownSeconds), ttlSeconds);
+        this.maxRequestsPerIp = Math.max(1, maxRequestsPerIp);
+        this.ipWindowMillis = ipWindowSeconds * 1000;
+        this.sweepChunkSize = Math.max(1, sweepChunkSize);
+        this.sweepPauseMillis = sweepPauseMillis;
+    }
+
+    /**
+     * Issues a password reset token for the user with the given email and sends it to them.
+     * <p>
+     * The token is stored and sent in the background, and the response is the same whether or not
+     * the email is registered, or whether the user's current token was kept because of the cooldown.
+     * </p>
+     *
+     * @param request The email of the account to reset.
+     * @param clientAddress The address of the client, counted against the per address limit.
+     * @return A {@link Response} object acknowledging the request.
+     */
+    public Response requestReset(PasswordResetRequest request, String clientAddress){
+        if(sender == null){
+            return RESET_UNAVAILABLE;
+        }
+        if(!tryAcquire(clientAddress)){
+            return TOO_MANY_REQUESTS;
+        }
+        String email = ValidationUtils.normalizeEmail(request.email());
+        if(email == null || !ValidationUtils.isValidEmailFormat(email)){
+            return EMAIL_INVALID;
+        }
+        if(!registeredEmailFilter.mightExist(email)){
+            return RESET_REQUESTED;
+        }
+        try{
+            ioExecutor.execute(() -> issueToken(email));
+        }catch (RejectedExecutionException e){
+            logger.warn("Rejected password reset request, the server is saturated");
+            return SERVER_BUSY;
+        }
+        return RESET_REQUESTED;
+    }
+
+    /**
+     * Sets a new password for the user holding a valid reset token.
+     * <p>
+     * The token is checked before the new password is hashed, so invalid tokens cost a single index
+     * lookup rather than an Argon2 hash. The user's refresh tokens are revoked; access tokens already
+     * issued stay valid until they expire.
+     * </p>
+     *
+     * @param request The reset token and the new password.
+     * @return A {@link Response} object containing the status and message of the reset attempt.
+     */
+    public Response confirmReset(PasswordResetConfirmRequest request){
+        long start = System.nanoTime();
+        return authMetrics.recordOutcome(AuthMetrics.Operation.PASSWORD_RESET, start, attemptConfirm(request));
+    }
+
+    /**
+     * Performs the reset described in {@link #confirmReset(PasswordResetConfirmRequest)}.
+     *
+     * @param request The reset token and the new password.
+     * @return A {@link Response} object containing the status and message of the reset attempt.
+     */
+    private Response attemptConfirm(PasswordResetConfirmRequest request){
+        try{
+            String token = request.token();
+            if(token == null || token.isBlank()){
+                return TOKEN_REQUIRED;
+            }
+            ValidationResult strength = authMetrics.time(
+                    AuthMetrics.Stage.VALIDATION,
+                    () -> ValidationUtils.validatePasswordStrength(request.newPassword()));
+            if(!strength.isValid()){
+                return VALIDATION_FAILURES.get(strength);
+            }
+
+            String tokenHash = digest(token);
+            if(!userRepository.existsValidPasswordResetToken(tokenHash, LocalDateTime.now())){
+                return INVALID_TOKEN;
+            }
+            String passwordHash = authMetrics.time(
+                    AuthMetrics.Stage.PASSWORD_HASH,
+                    () -> authService.hashPassword(request.newPassword()));
+            Optional<UserRepository.PasswordResetUser> user =
+                    userRepository.consumePasswordResetToken(tokenHash, passwordHash, LocalDateTime.now());
+            if(user.isEmpty()){
+                return INVALID_TOKEN;
+            }
+
+            // The statement already cleared the stored lockout, this clears the counters held on this node
+            loginAttemptTracker.reset(user.get().getEmail());
+            int revoked = refreshTokenRepository.revokeAllOfUser(user.get().getId());
+            logger.debug("Password of user {} reset, revoked {} refresh tokens", user.get().getId(), revoked);
+            return RESET_SUCCESSFUL;
+        }catch (HashingRejectedException e){
+            logger.warn("Rejected password reset, the server is saturated: {}", e.getMessage());
+            return SERVER_BUSY;
+        }catch (Exception e){
+            logger.error("Error occurred during password reset: {}", e.getMessage(), e);
+            return SERVER_ERROR;
+        }
+    }
+
+    /**
+     * Clears expired reset tokens, one chunk per transaction, until none are left, and forgets
+     * the request windows of client addresses that have run out.
+     */
+    @Scheduled(
+            initialDelayString = "${keyspring.password-reset.sweep-interval-ms:300000}",
+            fixedDelayString = "${keyspring.password-reset.sweep-interval-ms:300000}")
+    public void sweep() {
+        long nowMillis = System.currentTimeMillis();
+        requestWindows.values().removeIf(window -> nowMillis - window.startMillis() >= ipWindowMillis);
+
+        LocalDateTime now = LocalDateTime.now();
+        int total = 0;
+        int cleared;
+        do {
+            cleared = userRepository.clearExpiredPasswordResetTokens(now, sweepChunkSize);
+            total += cleared;
+            if (cleared == sweepChunkSize && !pause()) break;
+        } while (cleared == sweepChunkSize);
+        if (total > 0) logger.debug("Swept {} expired password reset tokens", total);
+    }
+
+    /**
+     * Stores a new reset token for the user with the given email and sends it, if the user exists.
+     */
+    private void issueToken(String email) {
+        try {
+            byte[] bytes = new byte[TOKEN_BYTES];
+            random.nextBytes(bytes);
+            String token = BASE64URL_ENCODER.encodeToString(bytes);
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime expiresAt = now.plusSeconds(ttlSeconds);
+            // A token expiring after this was issued less than the cooldown ago and is kept
+            LocalDateTime replaceableUntil = now.plusSeconds(ttlSeconds - cooldownSeconds);
+            if (userRepository.storePasswordResetToken(email, digest(token), expiresAt, replaceableUntil) > 0) {
+                sender.send(email, token, expiresAt);
+            }
+        } catch (Exception e) {
+            logger.error("Could not issue a password reset token: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Counts a reset request against the window of a client address.
+     *
+     * @return false if the address has used up its requests for the current window.
+     */
+    private boolean tryAcquire(String clientAddress) {
+        if (clientAddress == null) return true;
+        long now = System.currentTimeMillis();
+        RequestWindow window = requestWindows.compute(clientAddress, (key, current) ->
+                current == null || now - current.startMillis() >= ipWindowMillis
+                        ? new RequestWindow(now, 1)
+                        : new RequestWindow(current.startMillis(), current.requests() + 1));
+        return window.requests() <= maxRequestsPerIp;
+    }
+
+    /**
+     * Waits between two chunks of a sweep, so other writers get the rows and the WAL is not flooded.
+     *
+     * @return false if the sweep should stop because the thread was interrupted.
+     */
+    private boolean pause() {
+        if (sweepPauseMillis <= 0) return true;
+        try {
+            Thread.sleep(sweepPauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Computes the hex encoded SHA-256 digest under which a token is stored.
+     */
+    private static String digest(String token) {
+        try {
+            return HEX.formatHex(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.example.keyspring.service;
+
+import com.example.keyspring.model.view.UserEmailView;
+import com.example.keyspring.repository.UserRepository;
+import com.example.keyspring.util.BloomFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Component holding a node-local {@link BloomFilter} of every registered, normalized email address.
+ * <p>
+ * Logins for addresses the filter has definitely never seen are answered without querying the
+ * database, which takes typo'd and scripted logins off Postgres. The filter is rebuilt from the users
+ * table in ID-ordered pages every {@code keyspring.email-filter.rebuild-interval-ms}, and users added
+ * since are pulled in every {@code keyspring.email-filter.sync-interval-ms}. Registrations on this node
+ * are added immediately, registrations on other nodes within one sync interval. Addresses added while
+ * a rebuild is running are also collected aside and replayed into the new filter once it is in place.
+ * </p>
+ * Until the first rebuild has finished, and when {@code keyspring.email-filter.enabled=false}, every
+ * address is reported as possibly registered. The filter is sized for
+ * {@code keyspring.email-filter.expected-entries} (or twice the current number of users, if larger)
+ * at {@code keyspring.email-filter.false-positive-rate}; 1,000,000 entries at 1% take about 1.2 MB.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+@Component
+public class RegisteredEmailFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(RegisteredEmailFilter.class);
+    private static final int PAGE_SIZE = 5000;
+
+    // IDs are assigned when an insert starts but become visible when it commits, so a sync also
+    // rereads a window of IDs below the highest one it has seen to catch out-of-order commits
+    private static final long SYNC_OVERLAP_IDS = 5000;
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final long expectedEntries;
+    private final double falsePositiveRate;
+
+    private final AtomicLong entryCount = new AtomicLong();
+    private volatile BloomFilter filter;
+    private volatile long filterCapacity;
+    private volatile long lastSeenId;
+    private volatile boolean ready;
+    // Non-null while a rebuild runs, so addresses added meanwhile are not lost with the old filter
+    private volatile Set<String> addedDuringRebuild;
+
+    /**
+     * Constructs a new {@code RegisteredEmailFilter}.
+     *
+     * @param userRepository the repository the email addresses are read from.
+     * @param enabled whether the filter is used at all.
+     * @param expectedEntries the minimum number of addresses the filter is sized for.
+     * @param falsePositiveRate the acceptable false-positive rate of the filter.
+     */
+    public RegisteredEmailFilter(
+            UserRepository userRepository,
+            @Value("${keyspring.email-filter.enabled:true}") boolean enabled,
+            @Value("${keyspring.email-filter.expected-entries:1000000}") long expectedEntries,
+            @Value("${keyspring.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.enabled = enabled;
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.filter = new BloomFilter(expectedEntries, falsePositiveRate);
+        this.filterCapacity = expectedEntries;
+    }
+
+    /**
+     * Checks whether an email address may belong to a registered user.
+     *
+     * @param email the normalized email address.
+     * @return false if no user has that address, true if one possibly has.
+     */
+    public boolean mightExist(String email) {
+        if (!enabled || !ready || email == null) return true;
+        return filter.mightContain(email);
+    }
+
+    /**
+     * Adds the address of a user that was just registered on this node.
+     *
+     * @param email the normalized email address.
+     */
+    public void add(String email) {
+        if (!enabled) return;
+        // Recorded before the filter is read: if this still sees the old filter, the rebuild replays it
+        Set<String> pending = addedDuringRebuild;
+        if (pending != null) pending.add(email);
+        filter.put(email);
+        entryCount.incrementAndGet();
+    }
+
+    /**
+     * Rebuilds the filter from scratch, dropping addresses of deleted users and resizing it if the
+     * number of users has outgrown it.
+     */
+    @Scheduled(
+            initialDelay = 0,
+            fixedDelayString = "${keyspring.email-filter.rebuild-interval-ms:3600000}")
+    public synchronized void rebuild() {
+        if (!enabled) return;
+        Set<String> pending = ConcurrentHashMap.newKeySet();
+        addedDuringRebuild = pending;
+        try {
+            long capacity = Math.max(expectedEntries, userRepository.count() * 2);
+            BloomFilter rebuilt = new BloomFilter(capacity, falsePositiveRate);
+            long count = 0;
+            long lastId = 0;
+            List<UserEmailView> page;
+            Pageable firstPage = PageRequest.of(0, PAGE_SIZE);
+            do {
+                page = userRepository.findEmailsAfter(lastId, firstPage);
+                for (UserEmailView user : page) {
+                    rebuilt.put(user.email());
+                    lastId = user.id();
+                    count++;
+                }
+            } while (page.size() == PAGE_SIZE);
+
+            filter = rebuilt;
+            addedDuringRebuild = null;
+            for (String email : pending) {
+                rebuilt.put(email);
+            }
+            filterCapacity = capacity;
+            entryCount.set(count + pending.size());
+            lastSeenId = lastId;
+            ready = true;
+            logger.info("Rebuilt registered email filter with {} addresses", count);
+        } catch (Exception e) {
+            logger.warn("Could not rebuild registered email filter: {}", e.getMessage());
+        } finally {
+            addedDuringRebuild = null;
+        }
+    }
+
+    /**
+     * Adds users registered since the last rebuild or sync, including those registered on other nodes.
+     */
+    @Scheduled(
+            initialDelayString = "${keyspring.email-filter.sync-interval-ms:5000}",
+            fixedDelayString = "${keyspring.email-filter.sync-interval-ms:5000}")
+    public synchronized void sync() {
+        if (!enabled || !ready) return;
+        try {
+            BloomFilter current = filter;
+            long lastId = Math.max(0, lastSeenId - SYNC_OVERLAP_IDS);
+            long highestId = lastSeenId;
+            List<UserEmailView> page;
+            Pageable firstPage = PageRequest.of(0, PAGE_SIZE);
+            do {
+                page = userRepository.findEmailsAfter(lastId, firstPage);
+                for (UserEmailView user : page) {
+                    current.put(user.email());
+                    lastId = user.id();
+                    if (lastId > highestId) entryCount.incrementAndGet();
+                }
+            } while (page.size() == PAGE_SIZE);
+            lastSeenId = Math.max(highestId, lastId);
+        } catch (Exception e) {
+            logger.warn("Could not sync registered email filter: {}", e.getMessage());
+            return;
+        }
+        if (entryCount.get() > filterCapacity) rebuild();
+    }
+
+    /**
+     * @return the approximate number of addresses in the filter.
+     */
+    public long getSize() {
+        return entryCount.get();
+    }
+
+    /**
+     * @return the size of the filter in bits.
+     */
+    public long getBitCount() {
+        return filter.getBitCount();
+    }
+}
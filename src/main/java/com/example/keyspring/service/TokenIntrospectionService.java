@@ -0,0 +1,230 @@
+package com.example.keyspring.service;
+
+import com.example.keyspring.config.AsyncConfig;
+import com.example.keyspring.model.claim.UserClaim;
+import com.example.keyspring.model.request.IntrospectionRequest;
+import com.example.keyspring.model.response.IntrospectionResult;
+import com.example.keyspring.model.response.Response;
+import com.example.keyspring.model.response.ResponseStatus;
+import com.example.keyspring.security.TokenVerifier;
+import com.example.keyspring.security.VerifiedToken;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Service class verifying batches of access tokens on behalf of API gateways.
+ * <p>
+ * A gateway checking hundreds of tokens pays the HTTP and TLS overhead once per batch instead of
+ * once per token. Batches are split into chunks of {@code keyspring.introspection.chunk-size} tokens
+ * that are verified in parallel on the token verification pool, while the request thread verifies the
+ * first chunk itself. Tokens go through the same {@link TokenVerifier} as authenticated requests, so
+ * tokens seen recently are answered from the verified token cache.
+ * <ul>
+ *     <li>{@link #introspect(IntrospectionRequest)} - a JSON batch of up to {@code keyspring.introspection.max-batch-size} tokens.</li>
+ *     <li>{@link #introspect(InputStream, OutputStream)} - an NDJSON stream of any length, one token per line,
+ *     answered with one result per line in the same order and flushed window by window.</li>
+ * </ul>
+ * If the pool is saturated, chunks are verified on the calling thread instead of failing the batch.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+@Service
+public class TokenIntrospectionService {
+
+    private static final String BEARER_PREFIX = "Bearer ";
+    private static final byte NEWLINE = '\n';
+
+    private static final Response TOKENS_REQUIRED = Response.prepared(
+            ResponseStatus.BAD_REQUEST,
+            "Introspection failed. Tokens are required.");
+
+    private final TokenVerifier tokenVerifier;
+    private final AuthMetrics authMetrics;
+    private final ThreadPoolExecutor verifyExecutor;
+    private final ObjectWriter resultWriter;
+    private final byte[] inactiveLine;
+    private final int maxBatchSize;
+    private final int chunkSize;
+    private final int streamWindowSize;
+    private final Response batchTooLarge;
+
+    /**
+     * Constructs a new {@code TokenIntrospectionService}.
+     *
+     * @param tokenVerifier the verifier shared with request authentication.
+     * @param authMetrics the metrics recording the outcome of batch introspections.
+     * @param objectMapper the application's mapper, used to write streamed results.
+     * @param verifyExecutor the pool verifying chunks of a batch in parallel.
+     * @param maxBatchSize the maximum number of tokens in a JSON batch.
+     * @param chunkSize the number of tokens verified by a single task.
+     */
+    @Autowired
+    public TokenIntrospectionService(
+            TokenVerifier tokenVerifier,
+            AuthMetrics authMetrics,
+            ObjectMapper objectMapper,
+            @Qualifier(AsyncConfig.VERIFY_EXECUTOR) ThreadPoolExecutor verifyExecutor,
+            @Value("${keyspring.introspection.max-batch-size:1000}") int maxBatchSize,
+            @Value("${keyspring.introspection.chunk-size:64}") int chunkSize) {
+        this.tokenVerifier = tokenVerifier;
+        this.authMetrics = authMetrics;
+        this.verifyExecutor = verifyExecutor;
+        this.resultWriter = objectMapper.writerFor(IntrospectionResult.class);
+        this.inactiveLine = toLine(IntrospectionResult.INACTIVE);
+        this.maxBatchSize = maxBatchSize;
+        this.chunkSize = Math.max(1, chunkSize);
+        // One chunk per verification thread plus the one verified by the streaming thread itself
+        this.streamWindowSize = this.chunkSize * (verifyExecutor.getCorePoolSize() + 1);
+        this.batchTooLarge = Response.prepared(
+                ResponseStatus.BAD_REQUEST,
+                "Introspection failed. At most " + maxBatchSize + " tokens can be introspected at once.");
+    }
+
+    /**
+     * Verifies a batch of tokens.
+     *
+     * @param request The tokens to verify.
+     * @return {@code Response} object carrying one {@link IntrospectionResult} per token, in request order.
+     */
+    public Response introspect(IntrospectionRequest request) {
+        long start = System.nanoTime();
+        List<String> tokens = request == null ? null : request.tokens();
+        if (tokens == null || tokens.isEmpty()) {
+            return authMetrics.recordOutcome(AuthMetrics.Operation.INTROSPECT, start, TOKENS_REQUIRED);
+        }
+        if (tokens.size() > maxBatchSize) {
+            return authMetrics.recordOutcome(AuthMetrics.Operation.INTROSPECT, start, batchTooLarge);
+        }
+
+        List<IntrospectionResult> results = Arrays.asList(introspectAll(tokens));
+        return authMetrics.recordOutcome(
+                AuthMetrics.Operation.INTROSPECT,
+                start,
+                new Response(ResponseStatus.OK, "Tokens introspected.", results));
+    }
+
+    /**
+     * Verifies a stream of newline-delimited tokens, writing one JSON result per line in the same order.
+     * <p>
+     * Only one window of tokens is held in memory at a time, so the stream may be arbitrarily long.
+     * Blank lines are skipped.
+     *
+     * @param in The stream of tokens, one per line.
+     * @param out The stream the results are written to.
+     * @throws IOException if reading the tokens or writing the results fails.
+     */
+    public void introspect(InputStream in, OutputStream out) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<String> window = new ArrayList<>(streamWindowSize);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String token = line.strip();
+            if (token.isEmpty()) {
+                continue;
+            }
+            window.add(token);
+            if (window.size() == streamWindowSize) {
+                writeLines(introspectAll(window), out);
+                window.clear();
+            }
+        }
+        if (!window.isEmpty()) {
+            writeLines(introspectAll(window), out);
+        }
+    }
+
+    /**
+     * Verifies tokens in chunks, handing every chunk but the first to the verification pool.
+     *
+     * @param tokens The tokens to verify.
+     * @return the results, in the order of the tokens.
+     */
+    private IntrospectionResult[] introspectAll(List<String> tokens) {
+        IntrospectionResult[] results = new IntrospectionResult[tokens.size()];
+        int firstChunkEnd = Math.min(chunkSize, tokens.size());
+        List<CompletableFuture<Void>> chunks = new ArrayList<>();
+        for (int from = firstChunkEnd; from < tokens.size(); from += chunkSize) {
+            int chunkStart = from;
+            int chunkEnd = Math.min(from + chunkSize, tokens.size());
+            try {
+                chunks.add(CompletableFuture.runAsync(
+                        () -> introspectRange(tokens, results, chunkStart, chunkEnd),
+                        verifyExecutor));
+            } catch (RejectedExecutionException e) {
+                introspectRange(tokens, results, chunkStart, chunkEnd);
+            }
+        }
+        introspectRange(tokens, results, 0, firstChunkEnd);
+        CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+        return results;
+    }
+
+    private void introspectRange(List<String> tokens, IntrospectionResult[] results, int from, int to) {
+        for (int i = from; i < to; i++) {
+            results[i] = introspect(tokens.get(i));
+        }
+    }
+
+    private IntrospectionResult introspect(String token) {
+        if (token == null) {
+            return IntrospectionResult.INACTIVE;
+        }
+        if (token.startsWith(BEARER_PREFIX)) {
+            token = token.substring(BEARER_PREFIX.length());
+        }
+        if (token.isEmpty()) {
+            return IntrospectionResult.INACTIVE;
+        }
+
+        VerifiedToken verifiedToken = tokenVerifier.verify(token);
+        if (verifiedToken == null) {
+            return IntrospectionResult.INACTIVE;
+        }
+        return new IntrospectionResult(
+                true,
+                verifiedToken.subject(),
+                verifiedToken.tokenId(),
+                TokenVerifier.roleOf(verifiedToken.authorities()),
+                verifiedToken.principal() instanceof UserClaim user ? user.getEmail() : null,
+                verifiedToken.expiresAtMillis() == Long.MAX_VALUE ? null : verifiedToken.expiresAtMillis() / 1000);
+    }
+
+    private void writeLines(IntrospectionResult[] results, OutputStream out) throws IOException {
+        for (IntrospectionResult result : results) {
+            out.write(result == IntrospectionResult.INACTIVE ? inactiveLine : toLine(result));
+        }
+        out.flush();
+    }
+
+    private byte[] toLine(IntrospectionResult result) {
+        try {
+            byte[] json = resultWriter.writeValueAsBytes(result);
+            byte[] line = Arrays.copyOf(json, json.length + 1);
+            line[json.length] = NEWLINE;
+            return line;
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unable to serialize an introspection result", e);
+        }
+    }
+}
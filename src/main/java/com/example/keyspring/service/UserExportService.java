@@ -0,0 +1,96 @@
+package com.example.keyspring.service;
+
+import com.example.keyspring.model.User;
+import com.example.keyspring.repository.UserRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Service class responsible for exporting all users as NDJSON.
+ * <p>
+ * Users are read through a server-side cursor ({@link UserRepository#streamAll()}) and written to the
+ * output one line at a time; each user is detached as soon as it is written, so the heap needed does
+ * not grow with the size of the table. Writes block while the client is not reading, which in turn
+ * stops rows from being fetched. Passwords and reset tokens are never exported.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+@Service
+public class UserExportService {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final int FLUSH_INTERVAL = 500;
+
+    private final UserRepository userRepository;
+    private final EntityManager entityManager;
+
+    public UserExportService(UserRepository userRepository, EntityManager entityManager) {
+        this.userRepository = userRepository;
+        this.entityManager = entityManager;
+    }
+
+    /**
+     * Writes every user to the output as one JSON object per line.
+     * The database transaction stays open until the last user has been written.
+     *
+     * @param output the stream the users are written to.
+     * @return the number of exported users.
+     * @throws UncheckedIOException if writing to the output fails.
+     */
+    @Transactional(readOnly = true)
+    public long exportUsers(OutputStream output) {
+        long count = 0;
+        try (Stream<User> users = userRepository.streamAll();
+             JsonGenerator json = OBJECT_MAPPER.getFactory().createGenerator(output)) {
+            json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            json.setRootValueSeparator(null);
+
+            Iterator<User> iterator = users.iterator();
+            while (iterator.hasNext()) {
+                User user = iterator.next();
+                writeUser(json, user);
+                entityManager.detach(user);
+                if (++count % FLUSH_INTERVAL == 0) json.flush();
+            }
+            json.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return count;
+    }
+
+    private static void writeUser(JsonGenerator json, User user) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("unique_id", user.getUnique_id());
+        json.writeStringField("email", user.getEmail());
+        json.writeStringField("first_name", user.getFirst_name());
+        json.writeStringField("last_name", user.getLast_name());
+        json.writeStringField("phone_number", user.getPhone_number());
+        json.writeStringField("role", user.getRole());
+        json.writeStringField("auth_provider", user.getAuth_provider());
+        json.writeObjectField("is_active", user.getIs_active());
+        json.writeObjectField("is_verified", user.getIs_verified());
+        json.writeStringField("created_at", format(user.getCreated_at()));
+        json.writeStringField("updated_at", format(user.getUpdated_at()));
+        json.writeStringField("last_login_at", format(user.getLast_login_at()));
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private static String format(LocalDateTime time) {
+        return time == null ? null : time.toString();
+    }
+}
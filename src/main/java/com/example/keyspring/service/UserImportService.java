@@ -0,0 +1,381 @@
+package com.example.keyspring.service;
+
+import com.example.keyspring.model.NewUser;
+import com.example.keyspring.repository.UserRepository;
+import com.example.keyspring.util.ValidationResult;
+import com.example.keyspring.util.ValidationUtils;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Service class responsible for importing users in bulk from NDJSON or CSV.
+ * <p>
+ * The input is read in chunks of {@code keyspring.import.chunk-size} rows, so memory use does not
+ * depend on the size of the import. Each chunk is validated with {@link ValidationUtils}, its
+ * passwords are hashed in parallel on a dedicated pool of {@code keyspring.import.hashing-threads}
+ * workers, kept apart from the pool serving logins, and the valid rows are written with a single
+ * JDBC batch. A row whose password cannot be hashed fails on its own, and when the batch fails the
+ * chunk is written again row by row, so one bad row never costs the rest of its chunk. A result line
+ * is written for every input row as soon as its chunk is done.
+ * </p>
+ * Rows carry either a plain {@code password}, which is validated and hashed, or an existing Argon2
+ * {@code password_hash}, which is stored as is and skips hashing altogether. Hashes with outdated
+ * parameters are upgraded on the user's next login.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+@Service
+public class UserImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserImportService.class);
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String PREFIX = "ksl";
+
+    /**
+     * Supported input formats.
+     */
+    public enum Format {
+        /** One JSON object per line. */
+        NDJSON,
+        /** Comma-separated values with a header line naming the columns. */
+        CSV
+    }
+
+    private final UserRepository userRepository;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final Argon2PasswordEncoder encoder;
+    private final int chunkSize;
+    private final ExecutorService hashingPool;
+
+    /**
+     * A parsed input row, or the reason it could not be imported.
+     */
+    private static final class Row {
+        final long line;
+        String email;
+        String password;
+        String passwordHash;
+        String firstName;
+        String lastName;
+        String phoneNumber;
+        String status;
+        String message;
+
+        Row(long line) {
+            this.line = line;
+        }
+
+        void finish(String status, String message) {
+            this.status = status;
+            this.message = message;
+        }
+
+        boolean isFinished() {
+            return status != null;
+        }
+    }
+
+    /**
+     * Constructs a new {@code UserImportService}.
+     *
+     * @param userRepository the repository the users are written to.
+     * @param registeredEmailFilter the filter the imported email addresses are added to.
+     * @param encoder the Argon2 encoder used to hash passwords.
+     * @param chunkSize the number of rows validated, hashed and inserted together.
+     * @param hashingThreads the number of hashing workers, 0 for half the available cores.
+     */
+    public UserImportService(
+            UserRepository userRepository,
+            RegisteredEmailFilter registeredEmailFilter,
+            Argon2PasswordEncoder encoder,
+            @Value("${keyspring.import.chunk-size:1000}") int chunkSize,
+            @Value("${keyspring.import.hashing-threads:0}") int hashingThreads) {
+        this.userRepository = userRepository;
+        this.registeredEmailFilter = registeredEmailFilter;
+        this.encoder = encoder;
+        this.chunkSize = Math.max(1, chunkSize);
+
+        int threads = hashingThreads > 0 ? hashingThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger threadCount = new AtomicInteger();
+        this.hashingPool = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "user-import-hash-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Imports users from a stream and reports the outcome of every row as NDJSON.
+     * <p>
+     * Each result line carries the input {@code line} number, a {@code status} of {@code 200} (imported),
+     * {@code 400} (invalid), {@code 409} (email already exists) or {@code 500}, and a {@code message}.
+     * A final line summarizes the import.
+     *
+     * @param input the NDJSON or CSV input.
+     * @param format the format of the input.
+     * @param output the stream the results are written to.
+     * @throws IOException if reading the input or writing the results fails.
+     */
+    public void importUsers(InputStream input, Format format, OutputStream output) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        JsonGenerator json = OBJECT_MAPPER.getFactory().createGenerator(output);
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        json.setRootValueSeparator(null);
+
+        Map<String, Integer> columns = null;
+        long lineNumber = 0;
+        if (format == Format.CSV) {
+            String header = reader.readLine();
+            lineNumber++;
+            columns = header == null ? Map.of() : parseHeader(header);
+        }
+
+        long imported = 0;
+        long skipped = 0;
+        List<Row> chunk = new ArrayList<>(chunkSize);
+        String line;
+        while (true) {
+            line = reader.readLine();
+            if (line != null) {
+                lineNumber++;
+                if (line.isBlank()) continue;
+                chunk.add(format == Format.CSV ? parseCsv(lineNumber, line, columns) : parseNdjson(lineNumber, line));
+                if (chunk.size() < chunkSize) continue;
+            }
+            if (!chunk.isEmpty()) {
+                processChunk(chunk);
+                for (Row row : chunk) {
+                    if ("200".equals(row.status)) imported++;
+                    else skipped++;
+                    writeResult(json, row);
+                }
+                json.flush();
+                chunk.clear();
+            }
+            if (line == null) break;
+        }
+
+        json.writeStartObject();
+        json.writeStringField("status", "200");
+        json.writeStringField("message", "Import finished.");
+        json.writeNumberField("imported", imported);
+        json.writeNumberField("skipped", skipped);
+        json.writeEndObject();
+        json.writeRaw('\n');
+        json.flush();
+        logger.info("Imported {} users, skipped {} rows", imported, skipped);
+    }
+
+    /**
+     * Validates, hashes and inserts one chunk of rows, recording the outcome on each row.
+     */
+    private void processChunk(List<Row> chunk) {
+        List<CompletableFuture<Void>> hashes = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (row.isFinished()) continue;
+            validate(row);
+            if (row.isFinished() || row.passwordHash != null) continue;
+            String password = row.password;
+            hashes.add(CompletableFuture
+                    .runAsync(() -> row.passwordHash = encoder.encode(password), hashingPool)
+                    .exceptionally(e -> {
+                        logger.error("Could not hash the password of import line {}: {}", row.line, e.getMessage(), e);
+                        row.finish("500", "The password could not be hashed.");
+                        return null;
+                    }));
+        }
+        CompletableFuture.allOf(hashes.toArray(CompletableFuture[]::new)).join();
+
+        List<Row> valid = new ArrayList<>(chunk.size());
+        List<NewUser> users = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (row.isFinished()) continue;
+            valid.add(row);
+            users.add(new NewUser(PREFIX, row.email, row.passwordHash, row.firstName, row.lastName, row.phoneNumber));
+        }
+        if (users.isEmpty()) return;
+
+        try {
+            boolean[] inserted = userRepository.insertAllIfEmailAbsent(users);
+            for (int i = 0; i < valid.size(); i++) {
+                finishInsert(valid.get(i), inserted[i]);
+            }
+        } catch (Exception e) {
+            logger.warn("Batch insert of {} imported users failed, retrying row by row: {}", users.size(), e.getMessage());
+            insertOneByOne(valid, users);
+        }
+    }
+
+    /**
+     * Inserts the rows of a failed batch one at a time, so only the rows that fail themselves are lost.
+     */
+    private void insertOneByOne(List<Row> rows, List<NewUser> users) {
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            try {
+                finishInsert(row, userRepository.insertAllIfEmailAbsent(List.of(users.get(i)))[0]);
+            } catch (Exception e) {
+                logger.error("Could not import line {}: {}", row.line, e.getMessage(), e);
+                row.finish("500", "The row could not be saved.");
+            }
+        }
+    }
+
+    private void finishInsert(Row row, boolean inserted) {
+        if (inserted) {
+            row.finish("200", "Imported.");
+            registeredEmailFilter.add(row.email);
+        } else {
+            row.finish("409", "Email already exists.");
+        }
+    }
+
+    /**
+     * Runs the registration checks on a row.
+     */
+    private static void validate(Row row) {
+        row.email = ValidationUtils.normalizeEmail(row.email);
+        String credential = row.passwordHash != null ? row.passwordHash : row.password;
+        ValidationResult result = ValidationUtils.validateUser(row.email, credential, row.firstName, row.lastName);
+        if (result.isValid() && !ValidationUtils.isValidEmailFormat(row.email)) {
+            result = ValidationResult.EMAIL_INVALID_FORMAT;
+        }
+        if (result.isValid()) {
+            result = ValidationUtils.validateFieldLengths(row.email, row.firstName, row.lastName, row.phoneNumber);
+        }
+        if (result.isValid()) {
+            result = row.passwordHash != null
+                    ? ValidationUtils.validatePasswordHash(row.passwordHash)
+                    : ValidationUtils.validatePasswordStrength(row.password);
+        }
+        if (!result.isValid()) row.finish("400", result.getMessage());
+    }
+
+    private static Row parseNdjson(long lineNumber, String line) {
+        Row row = new Row(lineNumber);
+        try {
+            JsonNode node = OBJECT_MAPPER.readTree(line);
+            if (node == null || !node.isObject()) {
+                row.finish("400", "Row is not a JSON object.");
+                return row;
+            }
+            row.email = node.path("email").asText(null);
+            row.password = node.path("password").asText(null);
+            row.passwordHash = node.path("password_hash").asText(null);
+            row.firstName = node.path("first_name").asText(null);
+            row.lastName = node.path("last_name").asText(null);
+            row.phoneNumber = node.path("phone_number").asText(null);
+        } catch (IOException e) {
+            row.finish("400", "Row is not valid JSON.");
+        }
+        return row;
+    }
+
+    private static Row parseCsv(long lineNumber, String line, Map<String, Integer> columns) {
+        Row row = new Row(lineNumber);
+        List<String> fields = splitCsv(line);
+        if (fields == null) {
+            row.finish("400", "Row is not valid CSV.");
+            return row;
+        }
+        row.email = field(fields, columns, "email");
+        row.password = field(fields, columns, "password");
+        row.passwordHash = field(fields, columns, "password_hash");
+        row.firstName = field(fields, columns, "first_name");
+        row.lastName = field(fields, columns, "last_name");
+        row.phoneNumber = field(fields, columns, "phone_number");
+        return row;
+    }
+
+    private static Map<String, Integer> parseHeader(String header) {
+        List<String> names = splitCsv(header);
+        Map<String, Integer> columns = new HashMap<>();
+        if (names == null) return columns;
+        for (int i = 0; i < names.size(); i++) {
+            columns.put(names.get(i).strip().toLowerCase(Locale.ROOT), i);
+        }
+        return columns;
+    }
+
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) return null;
+        String value = fields.get(index);
+        return value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Splits a CSV line into fields. Fields may be quoted, with {@code ""} standing for a quote;
+     * quoted line breaks are not supported.
+     *
+     * @return the fields, or null if a quoted field is not terminated.
+     */
+    private static List<String> splitCsv(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0, length = line.length(); i < length; i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != '"') {
+                    field.append(c);
+                } else if (i + 1 < length && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) return null;
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static void writeResult(JsonGenerator json, Row row) throws IOException {
+        json.writeStartObject();
+        json.writeNumberField("line", row.line);
+        json.writeStringField("status", row.status);
+        json.writeStringField("message", row.message);
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        hashingPool.shutdownNow();
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.keyspring.service;
+
+import com.example.keyspring.model.User;
+import com.example.keyspring.model.response.Response;
+import com.example.keyspring.model.response.ResponseStatus;
+import com.example.keyspring.model.response.UserProfileResponse;
+import com.example.keyspring.model.view.UserChangeView;
+import com.example.keyspring.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Service class serving the profiles of users to the users themselves, mostly from memory.
+ * <p>
+ * Profiles are cached per node by unique ID, as fully serialized responses together with an ETag
+ * derived from {@code updated_at}. Frontends poll their profile on every page load, so a request
+ * whose {@code If-None-Match} matches a cached ETag is answered with {@code 304} without touching
+ * the database, and any other request for a cached profile is written without going through Jackson.
+ * </p>
+ * Profiles changed elsewhere, e.g. by an admin import or on the database directly, are picked up
+ * every {@code keyspring.profile-cache.sync-interval-ms} by querying users whose {@code updated_at}
+ * moved, and entries older than {@code keyspring.profile-cache.ttl-ms} are reloaded regardless. The
+ * cache holds at most {@code keyspring.profile-cache.max-entries} profiles; arbitrary entries are
+ * evicted when it is full.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+@Service
+public class UserProfileService {
+
+    private static final Logger logger = LoggerFactory.getLogger(UserProfileService.class);
+
+    // updated_at is stamped when the updating transaction starts but becomes visible when it commits,
+    // so a sync also rereads a window before the latest change it has seen
+    private static final Duration SYNC_OVERLAP = Duration.ofSeconds(30);
+
+    /**
+     * A cached profile.
+     *
+     * @param response the prepared {@code 200} response carrying the profile.
+     * @param eTag the entity tag of the profile.
+     * @param updatedAt the {@code updated_at} of the user the profile was loaded from.
+     * @param loadedAtMillis when the profile was loaded, in epoch milliseconds.
+     */
+    public record CachedProfile(Response response, String eTag, LocalDateTime updatedAt, long loadedAtMillis) {
+    }
+
+    private final UserRepository userRepository;
+    private final RegisteredEmailFilter registeredEmailFilter;
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    private final ConcurrentHashMap<String, CachedProfile> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+    private volatile LocalDateTime lastSeenUpdate;
+
+    /**
+     * Constructs a new {@code UserProfileService}.
+     *
+     * @param userRepository the repository profiles are loaded from.
+     * @param registeredEmailFilter the filter changed email addresses are added to.
+     * @param maxEntries the maximum number of cached profiles.
+     * @param ttlMillis how long a profile is served from the cache before it is reloaded.
+     */
+    @Autowired
+    public UserProfileService(
+            UserRepository userRepository,
+            RegisteredEmailFilter registeredEmailFilter,
+            @Value("${keyspring.profile-cache.max-entries:10000}") int maxEntries,
+            @Value("${keyspring.profile-cache.ttl-ms:300000}") long ttlMillis) {
+        this.userRepository = userRepository;
+        this.registeredEmailFilter = registeredEmailFilter;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttlMillis;
+        this.entries = new ConcurrentHashMap<>(Math.min(maxEntries, 1 << 16));
+    }
+
+    /**
+     * Looks up the profile of a user, from the cache if possible.
+     *
+     * @param uniqueId The unique ID of the user.
+     * @return The {@link CachedProfile} of the user, or empty if no such user exists.
+     */
+    public Optional<CachedProfile> getProfile(String uniqueId) {
+        CachedProfile cached = entries.get(uniqueId);
+        if (cached != null && System.currentTimeMillis() - cached.loadedAtMillis() <= ttlMillis) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+        misses.increment();
+
+        Optional<User> user = userRepository.findByUniqueId(uniqueId);
+        if (user.isEmpty()) {
+            entries.remove(uniqueId);
+            return Optional.empty();
+        }
+        CachedProfile loaded = toCachedProfile(user.get());
+        if (maxEntries > 0) {
+            if (entries.size() >= maxEntries) makeRoom();
+            entries.put(uniqueId, loaded);
+        }
+        return Optional.of(loaded);
+    }
+
+    /**
+     * Evicts the cached profiles of users updated since the last sync, and adds their
+     * email addresses to the registered email filter in case they changed.
+     */
+    @Scheduled(
+            initialDelayString = "${keyspring.profile-cache.sync-interval-ms:5000}",
+            fixedDelayString = "${keyspring.profile-cache.sync-interval-ms:5000}")
+    public synchronized void sync() {
+        try {
+            if (lastSeenUpdate == null) {
+                LocalDateTime latest = userRepository.findLatestUpdate();
+                lastSeenUpdate = latest != null ? latest : LocalDateTime.now();
+                return;
+            }
+            LocalDateTime highest = lastSeenUpdate;
+            for (UserChangeView change : userRepository.findChangedSince(lastSeenUpdate.minus(SYNC_OVERLAP))) {
+                CachedProfile cached = entries.get(change.uniqueId());
+                if (cached != null && !Objects.equals(cached.updatedAt(), change.updatedAt())
+                        && entries.remove(change.uniqueId(), cached)) {
+                    invalidations.increment();
+                }
+                if (!registeredEmailFilter.mightExist(change.email())) {
+                    registeredEmailFilter.add(change.email());
+                }
+                if (change.updatedAt().isAfter(highest)) {
+                    highest = change.updatedAt();
+                }
+            }
+            lastSeenUpdate = highest;
+        } catch (Exception e) {
+            logger.warn("Could not sync profile cache: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return the number of cached profiles.
+     */
+    public int getSize() {
+        return entries.size();
+    }
+
+    /**
+     * @return the number of profile lookups answered from the cache.
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return the number of profile lookups that loaded the user from the database.
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return the number of cached profiles evicted because their user was updated.
+     */
+    public long getInvalidationCount() {
+        return invalidations.sum();
+    }
+
+    /**
+     * Serializes the profile of a user and derives its ETag.
+     * <p>
+     * The ETag includes the unique ID, so a browser shared by several accounts never revalidates one
+     * user's profile against another's.
+     */
+    private static CachedProfile toCachedProfile(User user) {
+        LocalDateTime updatedAt = user.getUpdated_at();
+        long version = updatedAt == null
+                ? 0
+                : updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + updatedAt.getNano() / 1_000;
+        Response response = Response.prepared(
+                ResponseStatus.OK,
+                "Profile retrieved successfully.",
+                new UserProfileResponse(
+                        user.getUnique_id(),
+                        user.getEmail(),
+                        user.getFirst_name(),
+                        user.getLast_name(),
+                        user.getPhone_number(),
+                        user.getRole(),
+                        user.getAuth_provider(),
+                        Boolean.TRUE.equals(user.getIs_verified())));
+        String eTag = '"' + user.getUnique_id() + '-' + Long.toHexString(version) + '"';
+        return new CachedProfile(response, eTag, updatedAt, System.currentTimeMillis());
+    }
+
+    /**
+     * Drops profiles past their TTL and, if the cache is still full, evicts about one sixteenth of it.
+     */
+    private void makeRoom() {
+        // One thread making room is enough, the others can go ahead and overfill slightly
+        if (!evicting.compareAndSet(false, true)) return;
+        try {
+            long staleBefore = System.currentTimeMillis() - ttlMillis;
+            entries.values().removeIf(entry -> entry.loadedAtMillis() < staleBefore);
+
+            int toEvict = entries.size() - maxEntries + Math.max(1, maxEntries / 16);
+            Iterator<String> keys = entries.keySet().iterator();
+            while (toEvict-- > 0 && keys.hasNext()) {
+                keys.next();
+                keys.remove();
+            }
+        } finally {
+            evicting.set(false);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.keyspring.util;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe Bloom filter over strings.
+ * <p>
+ * Answers "definitely absent" or "possibly present" in constant time and a fixed amount of memory.
+ * It is used in front of exact lookups that are usually negative, so the common case never touches
+ * the exact structure or the database. Entries cannot be removed; owners rebuild a fresh filter when
+ * too many stale entries have accumulated.
+ * </p>
+ * Bits are set with lock-free CAS, so concurrent {@link #put(String)} and {@link #mightContain(String)}
+ * calls need no external synchronization.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+public final class BloomFilter {
+
+    private static final double LN2 = Math.log(2);
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * Constructs a filter sized for the given number of entries and false-positive probability.
+     *
+     * @param expectedInsertions the number of entries the filter is expected to hold.
+     * @param falsePositiveProbability the acceptable false-positive probability, between 0 and 1.
+     */
+    public BloomFilter(long expectedInsertions, double falsePositiveProbability) {
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException("False-positive probability must be between 0 and 1.");
+        }
+        long insertions = Math.max(1, expectedInsertions);
+        long optimalBits = (long) Math.ceil(-insertions * Math.log(falsePositiveProbability) / (LN2 * LN2));
+        int words = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (optimalBits + 63) / 64));
+
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words * 64;
+        this.hashCount = (int) Math.max(1, Math.min(16, Math.round((double) bitCount / insertions * LN2)));
+    }
+
+    /**
+     * Adds a value to the filter.
+     *
+     * @param value the value to add.
+     */
+    public void put(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 ^ 0x2545F4914F6CDD1DL) | 1;
+        for (int i = 1; i <= hashCount; i++) {
+            long index = ((h1 + i * h2) & Long.MAX_VALUE) % bitCount;
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current;
+            while (((current = bits.get(word)) & mask) == 0
+                    && !bits.compareAndSet(word, current, current | mask)) {
+                // Another thread changed the word in the meantime, retry
+            }
+        }
+    }
+
+    /**
+     * Checks whether a value may have been added to the filter.
+     *
+     * @param value the value to look up.
+     * @return false if the value was definitely never added, true if it possibly was.
+     */
+    public boolean mightContain(String value) {
+        long h1 = hash(value);
+        long h2 = mix(h1 ^ 0x2545F4914F6CDD1DL) | 1;
+        for (int i = 1; i <= hashCount; i++) {
+            long index = ((h1 + i * h2) & Long.MAX_VALUE) % bitCount;
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return the size of the filter in bits.
+     */
+    public long getBitCount() {
+        return bitCount;
+    }
+
+    /**
+     * @return the number of hash functions applied per entry.
+     */
+    public int getHashCount() {
+        return hashCount;
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the characters of a string, finished with the MurmurHash3 mixer.
+     */
+    private static long hash(String value) {
+        long hash = 0xCBF29CE484222325L ^ value.length();
+        for (int i = 0, length = value.length(); i < length; i++) {
+            hash = (hash ^ value.charAt(i)) * 0x100000001B3L;
+        }
+        return mix(hash);
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.keyspring.util;
+
+import lombok.Getter;
+
+/**
+ * Outcome of a validation performed by {@link ValidationUtils}.
+ * <p>
+ * Every possible outcome is a preallocated constant carrying a rule code (the constant name),
+ * the message shown to the client and whether the input passed, so validating never allocates.
+ *
+ * @author Arthur Artugue
+ * @version 1.0
+ * @since 2026-10-17
+ * @modified 2026-10-17
+ */
+@Getter
+public enum ValidationResult {
+
+    PASSWORD_VALID(true, "Password is valid."),
+    PASSWORD_TOO_SHORT(false, "Password must be at least 8 characters long."),
+    PASSWORD_MISSING_DIGIT(false, "Password must contain at least one digit."),
+    PASSWORD_MISSING_SPECIAL_CHARACTER(false, "Password must contain at least one special character."),
+    PASSWORD_CONTAINS_WHITESPACE(false, "Password must not contain any white spaces."),
+    PASSWORD_MISSING_UPPERCASE(false, "Password must contain at least one uppercase letter."),
+    PASSWORD_HASH_NOT_ARGON2(false, "Password hash must be an Argon2 hash."),
+    PASSWORD_HASH_TOO_LONG(false, "Password hash must be at most 300 characters long."),
+
+    USER_VALID(true, "User is valid."),
+    EMAIL_REQUIRED(false, "Email is required."),
+    PASSWORD_REQUIRED(false, "Password is required."),
+    FIRST_NAME_REQUIRED(false, "First name is required."),
+    LAST_NAME_REQUIRED(false, "Last name is required."),
+    EMAIL_INVALID_FORMAT(false, "Invalid email format."),
+    EMAIL_TOO_LONG(false, "Email must be at most 255 characters long."),
+    FIRST_NAME_TOO_LONG(false, "First name must be at most 100 characters long."),
+    LAST_NAME_TOO_LONG(false, "Last name must be at most 100 characters long."),
+    PHONE_NUMBER_TOO_LONG(false, "Phone number must be at most 15 characters long."),
+
+    LOGIN_VALID(true, "Credentials are well-formed."),
+    LOGIN_CREDENTIALS_REQUIRED(false, "Login failed. Email and password are required."),
+    LOGIN_EMAIL_INVALID_FORMAT(false, "Login failed. Invalid email format.");
+
+    private final boolean valid;
+    private final String message;
+
+    ValidationResult(boolean valid, String message) {
+        this.valid = valid;
+        this.message = message;
+    }
+
+    /**
+     * @return the rule code identifying this outcome.
+     */
+    public String getCode() {
+        return name();
+    }
+}
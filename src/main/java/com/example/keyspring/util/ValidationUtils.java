@@ -2,106 +2,228 @@ package com.example.keyspring.util;
 
 import com.example.keyspring.model.User;
 import lombok.experimental.UtilityClass;
-import org.springframework.context.annotation.Bean;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.regex.Pattern;
+import java.util.Locale;
 
 /**
  * Utility class responsible for validating user input such as email and password.
  * Provides methods for checking password strength, validating user fields, and verifying email format.
  * <p>
  * This class includes static methods to ensure that user data meets the required criteria.
+ * Every check is a single scan over the input with no regular expressions, and reports its outcome
+ * as one of the preallocated {@link ValidationResult} constants.
  *
  * @author Arthur Artugue
  * @version 1.0
  * @since 2024-12-24
- * @modified 2024-12-24
+ * @modified 2026-10-17
  */
 @UtilityClass
 public class ValidationUtils {
 
+    private static final int MIN_PASSWORD_LENGTH = 8;
+    // Column sizes of the users table, checked up front so an oversized value is rejected and not a failed insert
+    private static final int MAX_EMAIL_LENGTH = 255;
+    private static final int MAX_PASSWORD_HASH_LENGTH = 300;
+    private static final int MAX_NAME_LENGTH = 100;
+    private static final int MAX_PHONE_NUMBER_LENGTH = 15;
+    private static final String ARGON2_HASH_PREFIX = "$argon2";
+
+    // Lookup tables over ASCII for the character classes used by the checks below
+    private static final boolean[] SPECIAL_CHARACTERS = asciiTable("!@#$%^&*(),.?\":{}|<>");
+    private static final boolean[] WHITESPACE = asciiTable(" \t\n\u000B\f\r");
+    private static final boolean[] EMAIL_LOCAL_CHARACTERS = asciiTable(
+            "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789_+&*-");
+    private static final boolean[] EMAIL_DOMAIN_CHARACTERS = asciiTable(
+            "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789-");
+
     /**
      * Validates the strength of the password.
      * Ensures the password meets various strength requirements.
+     * <p>
+     * All rules are evaluated in one pass; when several fail, the first in the order length, digit,
+     * special character, whitespace and uppercase is reported.
      *
      * @param password The password to validate.
-     * @return A {@code Map} containing the validation status and any relevant error message.
+     * @return The {@link ValidationResult} of the check.
      */
-    public static Map<String, String> validatePasswordStrength(String password) {
-        Map<String, String> errors = new HashMap<>();
-        if (password.length() < 8) {
-            errors.put("status", "false");
-            errors.put("message", "Password must be at least 8 characters long.");
-            return errors;
-        }
-        if (!password.matches(".*\\d.*")) {
-            errors.put("status", "false");
-            errors.put("message", "Password must contain at least one digit.");
-            return errors;
-        }
-        if (!password.matches(".*[!@#$%^&*(),.?\":{}|<>].*")) {
-            errors.put("status", "false");
-            errors.put("message", "Password must contain at least one special character.");
-            return errors;
-        }
-        if (password.matches(".*\\s.*")) {
-            errors.put("status", "false");
-            errors.put("message", "Password must not contain any white spaces.");
-            return errors;
-        }
-        if (!password.matches(".*[A-Z].*")) {
-            errors.put("status", "false");
-            errors.put("message", "Password must contain at least one uppercase letter.");
-            return errors;
+    public static ValidationResult validatePasswordStrength(String password) {
+        if (password == null) return ValidationResult.PASSWORD_REQUIRED;
+        if (password.length() < MIN_PASSWORD_LENGTH) return ValidationResult.PASSWORD_TOO_SHORT;
+
+        boolean hasDigit = false, hasSpecial = false, hasWhitespace = false, hasUppercase = false;
+        for (int i = 0, length = password.length(); i < length; i++) {
+            char c = password.charAt(i);
+            if (c >= '0' && c <= '9') hasDigit = true;
+            else if (c >= 'A' && c <= 'Z') hasUppercase = true;
+            else if (inTable(SPECIAL_CHARACTERS, c)) hasSpecial = true;
+            else if (inTable(WHITESPACE, c)) hasWhitespace = true;
         }
-        errors.put("status", "true");
-        errors.put("message", "Password is valid.");
-        return errors;
+
+        if (!hasDigit) return ValidationResult.PASSWORD_MISSING_DIGIT;
+        if (!hasSpecial) return ValidationResult.PASSWORD_MISSING_SPECIAL_CHARACTER;
+        if (hasWhitespace) return ValidationResult.PASSWORD_CONTAINS_WHITESPACE;
+        if (!hasUppercase) return ValidationResult.PASSWORD_MISSING_UPPERCASE;
+        return ValidationResult.PASSWORD_VALID;
     }
 
     /**
      * Validates the provided user fields to ensure all necessary information is present.
      *
      * @param user The user to validate.
-     * @return A map containing the validation status and any relevant error message.
+     * @return The {@link ValidationResult} of the check.
      */
-    public static Map<String, String> validateUser(User user) {
-        Map<String, String> errors = new HashMap<>();
-        if (user.getEmail() == null || user.getEmail().isEmpty()) {
-            errors.put("status", "false");
-            errors.put("message", "Email is required.");
-            return errors;
-        }
-        if (user.getPassword() == null || user.getPassword().isEmpty()) {
-            errors.put("status", "false");
-            errors.put("message", "Password is required.");
-            return errors;
-        }
-        if (user.getFirst_name() == null || user.getFirst_name().isEmpty()) {
-            errors.put("status", "false");
-            errors.put("message", "First name is required.");
-            return errors;
-        }
-        if (user.getLast_name() == null || user.getLast_name().isEmpty()) {
-            errors.put("status", "false");
-            errors.put("message", "Last name is required.");
-            return errors;
+    public static ValidationResult validateUser(User user) {
+        return validateUser(user.getEmail(), user.getPassword(), user.getFirst_name(), user.getLast_name());
+    }
+
+    /**
+     * Validates that the fields required to register a user are present.
+     *
+     * @param email The email of the user, may be null.
+     * @param password The password of the user, may be null.
+     * @param firstName The first name of the user, may be null.
+     * @param lastName The last name of the user, may be null.
+     * @return The {@link ValidationResult} of the check.
+     */
+    public static ValidationResult validateUser(String email, String password, String firstName, String lastName) {
+        if (isEmpty(email)) return ValidationResult.EMAIL_REQUIRED;
+        if (isEmpty(password)) return ValidationResult.PASSWORD_REQUIRED;
+        if (isEmpty(firstName)) return ValidationResult.FIRST_NAME_REQUIRED;
+        if (isEmpty(lastName)) return ValidationResult.LAST_NAME_REQUIRED;
+        return ValidationResult.USER_VALID;
+    }
+
+    /**
+     * Validates that the user fields fit the columns they are stored in.
+     *
+     * @param email The email of the user.
+     * @param firstName The first name of the user.
+     * @param lastName The last name of the user.
+     * @param phoneNumber The phone number of the user, may be null.
+     * @return The {@link ValidationResult} of the check.
+     */
+    public static ValidationResult validateFieldLengths(String email, String firstName, String lastName, String phoneNumber) {
+        if (email.length() > MAX_EMAIL_LENGTH) return ValidationResult.EMAIL_TOO_LONG;
+        if (firstName.length() > MAX_NAME_LENGTH) return ValidationResult.FIRST_NAME_TOO_LONG;
+        if (lastName.length() > MAX_NAME_LENGTH) return ValidationResult.LAST_NAME_TOO_LONG;
+        if (phoneNumber != null && phoneNumber.length() > MAX_PHONE_NUMBER_LENGTH) {
+            return ValidationResult.PHONE_NUMBER_TOO_LONG;
         }
-        errors.put("status", "true");
-        errors.put("message", "User is valid.");
-        return errors;
+        return ValidationResult.USER_VALID;
+    }
+
+    /**
+     * Validates an existing password hash that is stored as is, such as one carried over by an import.
+     *
+     * @param passwordHash The password hash to validate.
+     * @return The {@link ValidationResult} of the check.
+     */
+    public static ValidationResult validatePasswordHash(String passwordHash) {
+        if (!passwordHash.startsWith(ARGON2_HASH_PREFIX)) return ValidationResult.PASSWORD_HASH_NOT_ARGON2;
+        if (passwordHash.length() > MAX_PASSWORD_HASH_LENGTH) return ValidationResult.PASSWORD_HASH_TOO_LONG;
+        return ValidationResult.PASSWORD_VALID;
+    }
+
+    /**
+     * Validates that login credentials are present and that the email is well-formed.
+     *
+     * @param email The email provided by the client, may be null.
+     * @param password The password provided by the client, may be null.
+     * @return The {@link ValidationResult} of the check.
+     */
+    public static ValidationResult validateLoginCredentials(String email, String password) {
+        if (isEmpty(email) || isEmpty(password)) return ValidationResult.LOGIN_CREDENTIALS_REQUIRED;
+        if (!isValidEmailFormat(email)) return ValidationResult.LOGIN_EMAIL_INVALID_FORMAT;
+        return ValidationResult.LOGIN_VALID;
     }
 
     /**
      * Checks if the email format is valid.
+     * <p>
+     * Accepts the same addresses as
+     * {@code ^[a-zA-Z0-9_+&*-]+(?:\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\.)+[a-zA-Z]{2,7}$}:
+     * dot-separated local part segments, at least one domain label and an alphabetic top-level
+     * domain of two to seven letters.
      *
      * @param email The email to check.
      * @return true if the email format is valid, false otherwise.
      */
-    public static Boolean isValidEmailFormat(String email) {
-        String emailRegex = "^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$";
-        return Pattern.matches(emailRegex, email);
+    public static boolean isValidEmailFormat(String email) {
+        if (email == null) return false;
+        int length = email.length();
+        int at = email.indexOf('@');
+        if (at <= 0) return false;
+
+        // Local part, segments separated by single dots
+        boolean segmentEmpty = true;
+        for (int i = 0; i < at; i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                if (segmentEmpty) return false;
+                segmentEmpty = true;
+            } else if (inTable(EMAIL_LOCAL_CHARACTERS, c)) {
+                segmentEmpty = false;
+            } else {
+                return false;
+            }
+        }
+        if (segmentEmpty) return false;
+
+        // Top-level domain, everything after the last dot
+        int lastDot = email.lastIndexOf('.');
+        if (lastDot <= at + 1) return false;
+        int tldLength = length - lastDot - 1;
+        if (tldLength < 2 || tldLength > 7) return false;
+        for (int i = lastDot + 1; i < length; i++) {
+            char c = email.charAt(i);
+            if (!((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z'))) return false;
+        }
+
+        // Domain labels between the '@' and the top-level domain
+        int labelLength = 0;
+        for (int i = at + 1; i < lastDot; i++) {
+            char c = email.charAt(i);
+            if (c == '.') {
+                if (labelLength == 0) return false;
+                labelLength = 0;
+            } else if (inTable(EMAIL_DOMAIN_CHARACTERS, c)) {
+                labelLength++;
+            } else {
+                return false;
+            }
+        }
+        return labelLength > 0;
+    }
+
+    /**
+     * Brings an email address into the canonical form it is stored and looked up in.
+     * <p>
+     * Surrounding whitespace is removed and the address is lower-cased, matching the
+     * {@code lower(email)} index on the users table. Valid addresses are ASCII only, so this
+     * agrees with the database's {@code lower()}.
+     *
+     * @param email The email to normalize, may be null.
+     * @return The normalized email, or null if the email was null.
+     */
+    public static String normalizeEmail(String email) {
+        if (email == null) return null;
+        return email.strip().toLowerCase(Locale.ROOT);
+    }
+
+    private static boolean isEmpty(String value) {
+        return value == null || value.isEmpty();
+    }
+
+    private static boolean inTable(boolean[] table, char c) {
+        return c < table.length && table[c];
+    }
+
+    private static boolean[] asciiTable(String characters) {
+        boolean[] table = new boolean[128];
+        for (int i = 0; i < characters.length(); i++) {
+            table[characters.charAt(i)] = true;
+        }
+        return table;
     }
 }
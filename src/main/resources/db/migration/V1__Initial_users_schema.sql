@@ -1,4 +1,4 @@
-CREATE TABLE users(
+CREATE TABLE IF NOT EXISTS users(
 id SERIAL PRIMARY KEY,
 prefix CHAR(3) NOT NULL,
 unique_id VARCHAR(20) GENERATED ALWAYS AS (prefix||LPAD(id::TEXT, 10, '0')) STORED,
@@ -0,0 +1,7 @@
+CREATE TABLE IF NOT EXISTS revoked_tokens(
+jti VARCHAR(64) PRIMARY KEY,
+expires_at TIMESTAMP NOT NULL,
+revoked_at TIMESTAMP NOT NULL DEFAULT NOW());
+
+CREATE INDEX IF NOT EXISTS revoked_tokens_expires_at_idx ON revoked_tokens (expires_at);
+CREATE INDEX IF NOT EXISTS revoked_tokens_revoked_at_idx ON revoked_tokens (revoked_at);
@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS refresh_tokens(
+id BIGSERIAL PRIMARY KEY,
+token_hash CHAR(64) UNIQUE NOT NULL,
+user_id INTEGER NOT NULL REFERENCES users(id) ON DELETE CASCADE,
+family_id UUID NOT NULL,
+expires_at TIMESTAMP NOT NULL,
+created_at TIMESTAMP NOT NULL DEFAULT NOW(),
+used_at TIMESTAMP,
+revoked BOOLEAN NOT NULL DEFAULT FALSE);
+
+CREATE INDEX IF NOT EXISTS refresh_tokens_family_id_idx ON refresh_tokens (family_id);
+CREATE INDEX IF NOT EXISTS refresh_tokens_expires_at_idx ON refresh_tokens (expires_at);
@@ -0,0 +1,27 @@
+-- Indexes are built CONCURRENTLY so writes to users are not blocked, which needs executeInTransaction=false
+
+-- Emails that differ only in case cannot share the unique lower(email) index, report them before any index is built
+DO $$
+DECLARE
+    duplicates TEXT;
+BEGIN
+    SELECT string_agg(email, ', ') INTO duplicates
+        FROM (SELECT lower(email) AS email FROM users GROUP BY lower(email) HAVING count(*) > 1 ORDER BY 1 LIMIT 20) d;
+    IF duplicates IS NOT NULL THEN
+        RAISE EXCEPTION 'users.email has addresses that differ only in case, merge them before migrating: %', duplicates;
+    END IF;
+END $$;
+
+-- A failed concurrent build leaves an invalid index behind that IF NOT EXISTS would otherwise keep
+DO $$
+DECLARE
+    index_name TEXT;
+BEGIN
+    FOR index_name IN SELECT c.relname FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid
+            WHERE c.relname IN ('users_email_lower_idx', 'users_unique_id_idx') AND NOT i.indisvalid LOOP
+        EXECUTE format('DROP INDEX %I', index_name);
+    END LOOP;
+END $$;
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS users_email_lower_idx ON users (lower(email));
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS users_unique_id_idx ON users (unique_id);
@@ -0,0 +1,12 @@
+-- Built CONCURRENTLY so writes to users are not blocked, which needs executeInTransaction=false
+
+-- A failed concurrent build leaves an invalid index behind that IF NOT EXISTS would otherwise keep
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid
+               WHERE c.relname = 'users_updated_at_idx' AND NOT i.indisvalid) THEN
+        DROP INDEX users_updated_at_idx;
+    END IF;
+END $$;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS users_updated_at_idx ON users (updated_at);
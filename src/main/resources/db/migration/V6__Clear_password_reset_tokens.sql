@@ -0,0 +1,18 @@
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_name = 'users' AND column_name = 'reset_toke_expires_at') THEN
+        IF EXISTS (SELECT 1 FROM information_schema.columns
+                   WHERE table_name = 'users' AND column_name = 'reset_token_expires_at') THEN
+            -- Both spellings exist when Hibernate's ddl-auto=update already added the entity's column
+            UPDATE users SET reset_token_expires_at = reset_toke_expires_at
+                WHERE reset_token_expires_at IS NULL AND reset_toke_expires_at IS NOT NULL;
+            ALTER TABLE users DROP COLUMN reset_toke_expires_at;
+        ELSE
+            ALTER TABLE users RENAME COLUMN reset_toke_expires_at TO reset_token_expires_at;
+        END IF;
+    END IF;
+END $$;
+
+-- Reset tokens are stored as hex encoded SHA-256 digests from now on, anything stored before is discarded
+UPDATE users SET password_reset_token = NULL, reset_token_expires_at = NULL WHERE password_reset_token IS NOT NULL;
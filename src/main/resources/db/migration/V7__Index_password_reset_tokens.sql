@@ -0,0 +1,21 @@
+-- Indexes are built CONCURRENTLY so writes are not blocked, which needs executeInTransaction=false
+
+-- A failed concurrent build leaves an invalid index behind that IF NOT EXISTS would otherwise keep
+DO $$
+DECLARE
+    index_name TEXT;
+BEGIN
+    FOR index_name IN SELECT c.relname FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid
+            WHERE c.relname IN ('users_password_reset_token_idx', 'users_reset_token_expires_at_idx',
+                                'refresh_tokens_user_id_idx') AND NOT i.indisvalid LOOP
+        EXECUTE format('DROP INDEX %I', index_name);
+    END LOOP;
+END $$;
+
+CREATE UNIQUE INDEX CONCURRENTLY IF NOT EXISTS users_password_reset_token_idx ON users (password_reset_token)
+    WHERE password_reset_token IS NOT NULL;
+CREATE INDEX CONCURRENTLY IF NOT EXISTS users_reset_token_expires_at_idx ON users (reset_token_expires_at)
+    WHERE password_reset_token IS NOT NULL;
+
+-- A password reset revokes every refresh token of the user
+CREATE INDEX CONCURRENTLY IF NOT EXISTS refresh_tokens_user_id_idx ON refresh_tokens (user_id);
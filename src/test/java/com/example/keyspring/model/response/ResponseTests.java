@@ -0,0 +1,41 @@
+package com.example.keyspring.model.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ResponseTests {
+
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	@Test
+	void preparedBodyMatchesSerializedResponse() throws Exception {
+		Response prepared = Response.prepared(ResponseStatus.NOT_FOUND, "Login failed. User not found.");
+		Response regular = new Response(ResponseStatus.NOT_FOUND, "Login failed. User not found.", null);
+
+		assertNull(prepared.getPreparedBody());
+		byte[] body = prepared.preparedBody(objectMapper);
+		assertArrayEquals(objectMapper.writeValueAsBytes(regular), body);
+		assertEquals("{\"status\":\"404\",\"message\":\"Login failed. User not found.\",\"data\":null}",
+				new String(body));
+		assertSame(body, prepared.preparedBody(objectMapper));
+		assertFalse(regular.isPrepared());
+		assertThrows(IllegalStateException.class, () -> regular.preparedBody(objectMapper));
+	}
+
+	@Test
+	void preparedBodyUsesTheGivenMapper() throws Exception {
+		ObjectMapper withoutNulls = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+		Response prepared = Response.prepared(ResponseStatus.OK, "Password reset successfully.");
+
+		assertEquals("{\"status\":\"200\",\"message\":\"Password reset successfully.\"}",
+				new String(prepared.preparedBody(withoutNulls)));
+	}
+}
@@ -0,0 +1,107 @@
+package com.example.keyspring.security;
+
+import com.example.keyspring.model.claim.UserClaim;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JweTokenServiceTests {
+
+	private static final String SECRET = "test-secret-key-that-is-long-enough-for-hs256";
+
+	private final SigningKeyStore signingKeys = new SigningKeyStore("", "");
+	private final JweTokenService jweTokenService = new JweTokenService(signingKeys, SECRET, "legacy");
+	private final UserClaim userClaim = new UserClaim("ksl0000000001", "jane@example.com", "Jane", "Doe");
+
+	@Test
+	void issuedTokensVerifyOnFastPathAndWithJjwt() {
+		Date now = Date.from(Instant.now());
+		Date expiresAt = Date.from(Instant.now().plusSeconds(3600));
+		String token = jweTokenService.createJweToken(userClaim, "ksl0000000001", "user", now, expiresAt);
+
+		TokenVerificationResult result = jweTokenService.readJWE(token);
+		assertEquals(TokenVerificationResult.Status.VALID, result.status());
+		assertEquals("ksl0000000001", result.claims().getSubject());
+		assertEquals("key-spring", result.claims().getIssuer());
+		assertEquals("user", result.claims().get(JweTokenService.ROLE_CLAIM));
+		assertEquals(expiresAt.getTime() / 1000, result.claims().getExpiration().getTime() / 1000);
+		assertEquals("jane@example.com", ((Map<?, ?>) result.claims().get("User")).get("email"));
+
+		var parsed = Jwts.parser().verifyWith(signingKeys.getSigningKey().publicKey()).build()
+				.parseSignedClaims(token);
+		assertEquals("ES256", parsed.getHeader().getAlgorithm());
+		assertEquals(jweTokenService.getSigningKeyId(), parsed.getHeader().getKeyId());
+		assertEquals("ksl0000000001", parsed.getPayload().getSubject());
+	}
+
+	@Test
+	void compactProfilesCarryFlatClaimsOnly() {
+		Date expiresAt = Date.from(Instant.now().plusSeconds(3600));
+		String legacy = jweTokenService.createJweToken(userClaim, "ksl0000000001", "user", new Date(), expiresAt);
+		String minimal = new JweTokenService(signingKeys, SECRET, "minimal")
+				.createJweToken(userClaim, "ksl0000000001", "user", new Date(), expiresAt);
+		String full = new JweTokenService(signingKeys, SECRET, "FULL")
+				.createJweToken(userClaim, "ksl0000000001", "user", new Date(), expiresAt);
+		assertTrue(minimal.length() < full.length() && full.length() < legacy.length());
+
+		var minimalClaims = jweTokenService.readJWE(minimal).claims();
+		assertEquals("ksl0000000001", minimalClaims.getSubject());
+		assertEquals("user", minimalClaims.get(JweTokenService.ROLE_CLAIM));
+		assertNull(minimalClaims.get(JweTokenService.USER_CLAIM));
+		assertNull(minimalClaims.get(JweTokenService.EMAIL_CLAIM));
+		assertNull(minimalClaims.getNotBefore());
+
+		var fullClaims = jweTokenService.readJWE(full).claims();
+		assertEquals("jane@example.com", fullClaims.get(JweTokenService.EMAIL_CLAIM));
+		assertEquals("Jane", fullClaims.get(JweTokenService.GIVEN_NAME_CLAIM));
+		assertEquals("Doe", fullClaims.get(JweTokenService.FAMILY_NAME_CLAIM));
+		assertNull(fullClaims.get(JweTokenService.USER_CLAIM));
+	}
+
+	@Test
+	void legacyTokensVerifyWhileTheSecretIsConfigured() {
+		String token = Jwts.builder()
+				.subject("ksl0000000002")
+				.expiration(Date.from(Instant.now().plusSeconds(60)))
+				.signWith(Keys.hmacShaKeyFor(SECRET.getBytes()))
+				.compact();
+
+		assertEquals("ksl0000000002", jweTokenService.extractSubject(token).orElseThrow());
+		assertEquals(TokenVerificationResult.Status.UNSUPPORTED,
+				new JweTokenService(signingKeys, "", "legacy").readJWE(token).status());
+	}
+
+	@Test
+	void tokensOfOtherKeysAreRejected() {
+		JweTokenService otherService = new JweTokenService(new SigningKeyStore("", ""), SECRET, "legacy");
+		String token = otherService.createJweToken(userClaim, "ksl0000000001", "user", new Date(), Date.from(Instant.now().plusSeconds(60)));
+
+		assertEquals(TokenVerificationResult.Status.UNSUPPORTED, jweTokenService.readJWE(token).status());
+	}
+
+	@Test
+	void rejectionsAreTyped() {
+		Date past = Date.from(Instant.now().minusSeconds(7200));
+		String expired = jweTokenService.createJweToken(userClaim, "ksl0000000001", "user", past, Date.from(Instant.now().minusSeconds(60)));
+		assertEquals(TokenVerificationResult.Status.EXPIRED, jweTokenService.readJWE(expired).status());
+
+		Date future = Date.from(Instant.now().plusSeconds(600));
+		String premature = jweTokenService.createJweToken(userClaim, "ksl0000000001", "user", future, Date.from(Instant.now().plusSeconds(3600)));
+		assertEquals(TokenVerificationResult.Status.NOT_YET_VALID, jweTokenService.readJWE(premature).status());
+
+		String valid = jweTokenService.createJweToken(userClaim, "ksl0000000001", "user", new Date(), Date.from(Instant.now().plusSeconds(60)));
+		String tampered = valid.substring(0, valid.length() - 4) + (valid.endsWith("AAAA") ? "BBBB" : "AAAA");
+		assertEquals(TokenVerificationResult.Status.INVALID_SIGNATURE, jweTokenService.readJWE(tampered).status());
+
+		assertEquals(TokenVerificationResult.Status.MALFORMED, jweTokenService.readJWE("not-a-token").status());
+		assertTrue(jweTokenService.extractSubject(null).isEmpty());
+	}
+}
@@ -0,0 +1,100 @@
+package com.example.keyspring.security;
+
+import com.example.keyspring.model.LoginAttempts;
+import com.example.keyspring.model.view.LoginCredentialView;
+import com.example.keyspring.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class LoginAttemptTrackerTests {
+
+	private static LoginCredentialView user(Integer failures, LocalDateTime lockedUntil) {
+		return new LoginCredentialView(1L, "ksl0000000001", "Jane@Example.com", "Jane", "Doe", "hash", "user", failures, lockedUntil);
+	}
+
+	@Test
+	void locksAfterMaxAttemptsAndWritesBackInOneBatch() {
+		UserRepository repository = mock(UserRepository.class);
+		LoginAttemptTracker tracker = new LoginAttemptTracker(repository, 3, 60);
+		LoginCredentialView user = user(0, null);
+
+		assertFalse(tracker.recordFailure(user));
+		assertFalse(tracker.recordFailure(user));
+		assertFalse(tracker.isLocked("jane@example.com"));
+		assertTrue(tracker.recordFailure(user));
+		assertTrue(tracker.isLocked("jane@example.com"));
+		assertTrue(tracker.isLocked(user));
+
+		tracker.flush();
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<LoginAttempts>> batch = ArgumentCaptor.forClass(List.class);
+		verify(repository).updateLoginAttempts(batch.capture());
+		assertEquals(1, batch.getValue().size());
+		assertEquals(3, batch.getValue().get(0).failedAttempts());
+		assertNotNull(batch.getValue().get(0).lockedUntil());
+	}
+
+	@Test
+	void continuesStoredCountersAndHonorsStoredLocks() {
+		UserRepository repository = mock(UserRepository.class);
+		LoginAttemptTracker tracker = new LoginAttemptTracker(repository, 3, 60);
+
+		assertTrue(tracker.isLocked(user(3, LocalDateTime.now().plusMinutes(5))));
+		assertTrue(tracker.recordFailure(user(2, null)));
+
+		// A lock that has run out starts the count over instead of locking again
+		LoginAttemptTracker other = new LoginAttemptTracker(repository, 3, 60);
+		LoginCredentialView expired = user(3, LocalDateTime.now().minusMinutes(1));
+		assertFalse(other.isLocked(expired));
+		assertFalse(other.recordFailure(expired));
+	}
+
+	@Test
+	void successClearsFailuresAndCleanAccountsCostNoWrites() {
+		UserRepository repository = mock(UserRepository.class);
+		LoginAttemptTracker tracker = new LoginAttemptTracker(repository, 3, 60);
+
+		tracker.recordSuccess(user(0, null));
+		tracker.flush();
+		verify(repository, never()).updateLoginAttempts(anyList());
+
+		tracker.recordFailure(user(0, null));
+		tracker.recordSuccess(user(0, null));
+		tracker.flush();
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<LoginAttempts>> batch = ArgumentCaptor.forClass(List.class);
+		verify(repository).updateLoginAttempts(batch.capture());
+		assertEquals(0, batch.getValue().get(0).failedAttempts());
+		assertNull(batch.getValue().get(0).lockedUntil());
+		assertEquals(0, tracker.getSize());
+	}
+
+	@Test
+	void storedLockWinsOverLocalCounter() {
+		UserRepository repository = mock(UserRepository.class);
+		LoginAttemptTracker tracker = new LoginAttemptTracker(repository, 3, 60);
+
+		// This node has counted one failure, another node has since locked the account
+		assertFalse(tracker.recordFailure(user(0, null)));
+		assertFalse(tracker.isLocked(user(1, null)));
+		assertTrue(tracker.isLocked(user(3, LocalDateTime.now().plusMinutes(5))));
+
+		// And a lock held only by this node still counts when the stored one has run out
+		assertFalse(tracker.recordFailure(user(1, null)));
+		assertTrue(tracker.recordFailure(user(1, null)));
+		assertTrue(tracker.isLocked(user(3, LocalDateTime.now().minusMinutes(1))));
+	}
+}
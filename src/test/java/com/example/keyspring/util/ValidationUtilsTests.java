@@ -0,0 +1,70 @@
+package com.example.keyspring.util;
+
+import com.example.keyspring.model.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class ValidationUtilsTests {
+
+	private static final Pattern LEGACY_EMAIL_PATTERN = Pattern.compile(
+			"^[a-zA-Z0-9_+&*-]+(?:\\.[a-zA-Z0-9_+&*-]+)*@(?:[a-zA-Z0-9-]+\\.)+[a-zA-Z]{2,7}$");
+
+	@Test
+	void emailMatcherAgreesWithLegacyRegex() {
+		List<String> samples = List.of(
+				"jane@example.com", "jane.doe+tag@mail.example.co", "a&b*c-d_e@x-y.museum",
+				"j@e.c", "jane@example.abcdefgh", "jane@example.c0m", "jane@.com", "jane@example..com",
+				".jane@example.com", "jane.@example.com", "ja..ne@example.com", "jane@@example.com",
+				"jane@exa@mple.com", "@example.com", "jane@", "jane", "jane@example", "jane@example.com.",
+				"jane@example.com\n", "jane doe@example.com", "jané@example.com", "jane@exámple.com", "");
+
+		for (String sample : samples) {
+			assertEquals(LEGACY_EMAIL_PATTERN.matcher(sample).matches(), ValidationUtils.isValidEmailFormat(sample), sample);
+		}
+	}
+
+	@Test
+	void passwordRulesAreReportedInOrder() {
+		assertEquals(ValidationResult.PASSWORD_TOO_SHORT, ValidationUtils.validatePasswordStrength("Ab1!"));
+		assertEquals(ValidationResult.PASSWORD_MISSING_DIGIT, ValidationUtils.validatePasswordStrength("Abcdefg!"));
+		assertEquals(ValidationResult.PASSWORD_MISSING_SPECIAL_CHARACTER, ValidationUtils.validatePasswordStrength("Abcdefg1"));
+		assertEquals(ValidationResult.PASSWORD_CONTAINS_WHITESPACE, ValidationUtils.validatePasswordStrength("Abc defg1!"));
+		assertEquals(ValidationResult.PASSWORD_MISSING_UPPERCASE, ValidationUtils.validatePasswordStrength("abcdefg1!"));
+		assertEquals(ValidationResult.PASSWORD_VALID, ValidationUtils.validatePasswordStrength("Abcdefg1!"));
+	}
+
+	@Test
+	void userAndLoginChecksReportMissingFields() {
+		assertEquals(ValidationResult.EMAIL_REQUIRED, ValidationUtils.validateUser(new User("", "pw", "Jane", "Doe")));
+		assertEquals(ValidationResult.LAST_NAME_REQUIRED, ValidationUtils.validateUser(new User("j@e.com", "pw", "Jane", null)));
+		assertEquals(ValidationResult.USER_VALID, ValidationUtils.validateUser(new User("j@e.com", "pw", "Jane", "Doe")));
+
+		assertEquals(ValidationResult.LOGIN_CREDENTIALS_REQUIRED, ValidationUtils.validateLoginCredentials(null, "pw"));
+		assertEquals(ValidationResult.LOGIN_EMAIL_INVALID_FORMAT, ValidationUtils.validateLoginCredentials("jane", "pw"));
+		assertEquals(ValidationResult.LOGIN_VALID, ValidationUtils.validateLoginCredentials("jane@example.com", "pw"));
+	}
+
+	@Test
+	void emailsAreNormalizedToTheirCanonicalForm() {
+		assertEquals("jane.doe@example.com", ValidationUtils.normalizeEmail("  Jane.Doe@Example.COM "));
+		assertEquals("jane@example.com", ValidationUtils.normalizeEmail("jane@example.com"));
+		assertNull(ValidationUtils.normalizeEmail(null));
+	}
+
+	@Test
+	void fieldsMustFitTheirColumns() {
+		String longEmail = "a".repeat(250) + "@e.com";
+		assertEquals(ValidationResult.EMAIL_TOO_LONG, ValidationUtils.validateFieldLengths(longEmail, "Jane", "Doe", null));
+		assertEquals(ValidationResult.LAST_NAME_TOO_LONG, ValidationUtils.validateFieldLengths("j@e.com", "Jane", "D".repeat(101), null));
+		assertEquals(ValidationResult.PHONE_NUMBER_TOO_LONG, ValidationUtils.validateFieldLengths("j@e.com", "Jane", "Doe", "1".repeat(16)));
+		assertEquals(ValidationResult.USER_VALID, ValidationUtils.validateFieldLengths("j@e.com", "J".repeat(100), "Doe", "1".repeat(15)));
+
+		assertEquals(ValidationResult.PASSWORD_HASH_NOT_ARGON2, ValidationUtils.validatePasswordHash("$2a$10$abc"));
+		assertEquals(ValidationResult.PASSWORD_HASH_TOO_LONG, ValidationUtils.validatePasswordHash("$argon2id$" + "a".repeat(300)));
+	}
+}
@@ -0,0 +1,95 @@
+package smoke;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import static smoke.SmokeIT.call;
+
+class Extra {
+	static String q(String sql) throws Exception {
+		try (var c = SmokeIT.ds.getConnection(); var st = c.createStatement(); var rs = st.executeQuery(sql)) {
+			StringBuilder sb = new StringBuilder();
+			while (rs.next()) { for (int i = 1; i <= rs.getMetaData().getColumnCount(); i++) sb.append(rs.getString(i)).append('|'); sb.append(' '); }
+			return sb.toString();
+		}
+	}
+	static void u(String sql) throws Exception {
+		try (var c = SmokeIT.ds.getConnection(); var st = c.createStatement()) { st.executeUpdate(sql); }
+	}
+
+	static void run() throws Exception {
+		call("POST", "/api/v1/auth/register/keySpring", "{\"email\":\"victim@example.com\",\"password\":\"Sup3r-Secret!\",\"first_name\":\"V\",\"last_name\":\"I\"}", null);
+		call("POST", "/api/v1/auth/register/keySpring", "{\"email\":\"attacker@example.com\",\"password\":\"Sup3r-Secret!\",\"first_name\":\"A\",\"last_name\":\"T\"}", null);
+		String vLogin = call("POST", "/api/v1/auth/login", "{\"email\":\"victim@example.com\",\"password\":\"Sup3r-Secret!\"}", null).body();
+		String vRefresh = vLogin.replaceAll(".*\"refresh_token\":\"([^\"]+)\".*", "$1");
+		String vAccess = vLogin.replaceAll(".*\"token\":\"([^\"]+)\".*", "$1");
+		String aAccess = call("POST", "/api/v1/auth/login", "{\"email\":\"attacker@example.com\",\"password\":\"Sup3r-Secret!\"}", null).body().replaceAll(".*\"token\":\"([^\"]+)\".*", "$1");
+		call("POST", "/api/v1/auth/logout", "{\"refresh_token\":\"" + vRefresh + "\"}", aAccess);
+		var still = call("POST", "/api/v1/auth/refresh", "{\"refresh_token\":\"" + vRefresh + "\"}", null);
+		System.out.println("SMOKE foreign-logout-refresh " + still.statusCode());
+		String vRefresh2 = still.body().replaceAll(".*\"refresh_token\":\"([^\"]+)\".*", "$1");
+		call("POST", "/api/v1/auth/logout", "{\"refresh_token\":\"" + vRefresh2 + "\"}", vAccess);
+		System.out.println("SMOKE own-logout-refresh " + call("POST", "/api/v1/auth/refresh", "{\"refresh_token\":\"" + vRefresh2 + "\"}", null).statusCode());
+		String nd = String.join("\n",
+				"{\"email\":\"imp1@example.com\",\"password\":\"Sup3r-Secret!\",\"first_name\":\"A\",\"last_name\":\"B\"}",
+				"{\"email\":\"imp2@example.com\",\"password\":\"Sup3r-Secret!\",\"first_name\":\"" + "x".repeat(101) + "\",\"last_name\":\"B\"}",
+				"{\"email\":\"imp3@example.com\",\"password\":\"Sup3r-Secret!\",\"first_name\":\"A\",\"last_name\":\"B\",\"phone_number\":\"1234567890123456\"}",
+				"{\"email\":\"imp4@example.com\",\"password\":\"Sup3r-Secret!\",\"first_name\":\"A\\u0000B\",\"last_name\":\"B\"}",
+				"{\"email\":\"IMP1@example.com\",\"password\":\"Sup3r-Secret!\",\"first_name\":\"A\",\"last_name\":\"B\"}",
+				"{\"email\":\"imp5@example.com\",\"password\":\"Sup3r-Secret!\",\"first_name\":\"A\",\"last_name\":\"B\"}");
+		var out = new java.io.ByteArrayOutputStream();
+		SmokeIT.app.getBean(com.example.keyspring.service.UserImportService.class).importUsers(
+				new java.io.ByteArrayInputStream(nd.getBytes(StandardCharsets.UTF_8)), com.example.keyspring.service.UserImportService.Format.NDJSON, out);
+		for (String l : out.toString(StandardCharsets.UTF_8).split("\n")) System.out.println("SMOKE import " + l);
+		String nd2 = String.join("\n",
+				"{\"email\":\"imp6@example.com\",\"password\":\"Sup3r-Secret!\",\"first_name\":\"A\",\"last_name\":\"B\"}",
+				"{\"email\":\"imp1@example.com\",\"password\":\"Sup3r-Secret!\",\"first_name\":\"A\",\"last_name\":\"B\"}",
+				"{\"email\":\"Imp6@example.com\",\"password\":\"Sup3r-Secret!\",\"first_name\":\"A\",\"last_name\":\"B\"}",
+				"{\"email\":\"imp7@example.com\",\"password\":\"Sup3r-Secret!\",\"first_name\":\"A\",\"last_name\":\"B\"}");
+		out.reset();
+		SmokeIT.app.getBean(com.example.keyspring.service.UserImportService.class).importUsers(
+				new java.io.ByteArrayInputStream(nd2.getBytes(StandardCharsets.UTF_8)), com.example.keyspring.service.UserImportService.Format.NDJSON, out);
+		for (String l : out.toString(StandardCharsets.UTF_8).split("\n")) System.out.println("SMOKE import2 " + l);
+		call("POST", "/api/v1/auth/register/keySpring", "{\"email\":\"me@example.com\",\"password\":\"Sup3r-Secret!\",\"first_name\":\"M\",\"last_name\":\"E\"}", null);
+		String login = call("POST", "/api/v1/auth/login", "{\"email\":\"me@example.com\",\"password\":\"Sup3r-Secret!\"}", null).body();
+		String refresh = login.replaceAll(".*\"refresh_token\":\"([^\"]+)\".*", "$1");
+		System.out.println("SMOKE cols " + q("SELECT column_name, data_type FROM information_schema.columns WHERE table_name='users' AND column_name LIKE '%reset%'"));
+		System.out.println("SMOKE idx " + q("SELECT indexname FROM pg_indexes WHERE indexname LIKE '%reset%' OR indexname LIKE '%user_id%'"));
+		System.out.println("SMOKE req-unknown " + call("POST", "/api/v1/auth/password-reset/request", "{\"email\":\"nobody@example.com\"}", null).body());
+		System.out.println("SMOKE req-bad " + call("POST", "/api/v1/auth/password-reset/request", "{\"email\":\"nope\"}", null).body());
+		System.out.println("SMOKE req " + call("POST", "/api/v1/auth/password-reset/request", "{\"email\":\" ME@example.com\"}", null).body());
+		Thread.sleep(500);
+		System.out.println("SMOKE stored " + q("SELECT length(password_reset_token), reset_token_expires_at > NOW() FROM users"));
+		String first = q("SELECT password_reset_token FROM users WHERE email='me@example.com'");
+		call("POST", "/api/v1/auth/password-reset/request", "{\"email\":\"me@example.com\"}", null);
+		Thread.sleep(500);
+		System.out.println("SMOKE cooldown-kept " + first.equals(q("SELECT password_reset_token FROM users WHERE email='me@example.com'")));
+		for (int i = 0; i < 10; i++) call("POST", "/api/v1/auth/password-reset/request", "{\"email\":\"x@example.com\"}", null);
+		var limited = call("POST", "/api/v1/auth/password-reset/request", "{\"email\":\"x@example.com\"}", null);
+		System.out.println("SMOKE ip-limit " + limited.statusCode() + " " + limited.body());
+		for (int i = 0; i < 6; i++) call("POST", "/api/v1/auth/login", "{\"email\":\"me@example.com\",\"password\":\"Wrong-Secret1!\"}", null);
+		System.out.println("SMOKE locked " + call("POST", "/api/v1/auth/login", "{\"email\":\"me@example.com\",\"password\":\"Sup3r-Secret!\"}", null).statusCode());
+		Thread.sleep(1500);
+		String token = "my-known-token";
+		String digest = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8)));
+		u("UPDATE users SET password_reset_token='" + digest + "', reset_token_expires_at=NOW() + INTERVAL '5 minutes' WHERE email = 'me@example.com'");
+		System.out.println("SMOKE weak " + call("POST", "/api/v1/auth/password-reset/confirm", "{\"token\":\"" + token + "\",\"new_password\":\"weak\"}", null).body());
+		System.out.println("SMOKE wrong " + call("POST", "/api/v1/auth/password-reset/confirm", "{\"token\":\"nope\",\"new_password\":\"N3w-Secret!!\"}", null).body());
+		var ok = call("POST", "/api/v1/auth/password-reset/confirm", "{\"token\":\"" + token + "\",\"new_password\":\"N3w-Secret!!\"}", null);
+		System.out.println("SMOKE confirm " + ok.statusCode() + " " + ok.body());
+		System.out.println("SMOKE lock-cleared " + q("SELECT failed_login_attempts, account_locked_until FROM users WHERE email='me@example.com'"));
+		System.out.println("SMOKE reuse " + call("POST", "/api/v1/auth/password-reset/confirm", "{\"token\":\"" + token + "\",\"new_password\":\"N3w-Secret!!\"}", null).body());
+		System.out.println("SMOKE old-login " + call("POST", "/api/v1/auth/login", "{\"email\":\"me@example.com\",\"password\":\"Sup3r-Secret!\"}", null).statusCode());
+		System.out.println("SMOKE new-login " + call("POST", "/api/v1/auth/login", "{\"email\":\"me@example.com\",\"password\":\"N3w-Secret!!\"}", null).statusCode());
+		System.out.println("SMOKE old-refresh " + call("POST", "/api/v1/auth/refresh", "{\"refresh_token\":\"" + refresh + "\"}", null).statusCode());
+		// expired tokens of many users are swept in chunks
+		u("INSERT INTO users (prefix, email, password, first_name, last_name, password_reset_token, reset_token_expires_at) "
+				+ "SELECT 'ksl', 'bulk' || g || '@example.com', 'x', 'B', 'U', md5(g::text) || md5(g::text), NOW() - INTERVAL '1 minute' FROM generate_series(1, 1234) g");
+		System.out.println("SMOKE before-sweep " + q("SELECT count(*) FROM users WHERE password_reset_token IS NOT NULL"));
+		Thread.sleep(6000);
+		System.out.println("SMOKE after-sweep " + q("SELECT count(*) FROM users WHERE password_reset_token IS NOT NULL"));
+		System.out.println("SMOKE plan " + q("EXPLAIN SELECT 1 FROM users WHERE password_reset_token = 'abc' AND reset_token_expires_at > NOW()"));
+		for (String l : call("GET", "/actuator/prometheus", null, null).body().split("\n")) if (l.contains("password_reset") && l.startsWith("keyspring_auth_responses")) System.out.println("SMOKE metric " + l);
+	}
+}
@@ -0,0 +1,53 @@
+package smoke;
+
+import com.example.keyspring.KeyspringApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+class SmokeIT {
+	static HttpClient client = HttpClient.newHttpClient();
+	static String base;
+	static javax.sql.DataSource ds;
+	static ConfigurableApplicationContext app;
+
+	static HttpResponse<String> call(String method, String path, String body, String token) throws Exception {
+		return call(method, path, body, token, "application/json");
+	}
+
+	static HttpResponse<String> call(String method, String path, String body, String token, String type) throws Exception {
+		HttpRequest.Builder b = HttpRequest.newBuilder(URI.create(base + path)).header("Content-Type", type);
+		if (token != null) b.header("Authorization", "Bearer " + token);
+		b.method(method, body == null ? HttpRequest.BodyPublishers.noBody() : HttpRequest.BodyPublishers.ofString(body));
+		HttpResponse<String> r = client.send(b.build(), HttpResponse.BodyHandlers.ofString());
+		System.out.println("SMOKE " + method + " " + path + " -> " + r.statusCode() + " " + r.headers().map() + " " + r.body());
+		return r;
+	}
+
+	@Test
+	void run() throws Exception {
+		try (EmbeddedPostgres pg = EmbeddedPostgres.builder().start()) {
+			String url = pg.getJdbcUrl("postgres", "postgres") + (System.getenv("REWRITE") != null ? "&reWriteBatchedInserts=true" : "");
+			ds = pg.getPostgresDatabase();
+			ConfigurableApplicationContext ctx = SpringApplication.run(System.getenv("NOSENDER") != null ? new Class<?>[]{KeyspringApplication.class} : new Class<?>[]{KeyspringApplication.class, SmokeSender.class}, new String[]{
+					"--server.port=18080", "--spring.datasource.url=" + url, "--spring.datasource.username=postgres",
+					"--spring.datasource.password=postgres", "--jwt.secret.key=smoke-secret-key-that-is-long-enough-for-hs256",
+					"--spring.jpa.hibernate.ddl-auto=none", "--spring.flyway.locations=classpath:db/migration",
+					"--keyspring.jwt.keys.location=/tmp/smoke-keys", "--keyspring.password-reset.sweep-interval-ms=2000", "--keyspring.password-reset.sweep-chunk-size=100",
+					"--management.endpoints.web.exposure.include=health,prometheus", "--keyspring.security.strict-user-lookup=true", "--keyspring.last-login.max-staleness-ms=2000", "--keyspring.async.request-timeout-ms=" + System.getenv().getOrDefault("TIMEOUT", "5000")});
+			base = "http://localhost:18080";
+			app = ctx;
+			try {
+				if (System.getenv("NOSENDER") != null) System.out.println("SMOKE nosender " + call("POST", "/api/v1/auth/password-reset/request", "{\"email\":\"a@example.com\"}", null).statusCode()); else if (System.getenv("TIMEOUT") != null) TimeoutCheck.run(); else SmokeScript.run();
+			} finally {
+				ctx.close();
+			}
+		}
+	}
+}
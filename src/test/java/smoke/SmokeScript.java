@@ -0,0 +1,34 @@
+package smoke;
+
+import static smoke.SmokeIT.call;
+
+class SmokeScript {
+	static String field(String body, String name) {
+		return body.replaceAll(".*\"" + name + "\":\"([^\"]+)\".*", "$1");
+	}
+
+	static void run() throws Exception {
+		call("POST", "/api/v1/auth/register/keySpring", "{\"email\":\"jane@example.com\",\"password\":\"Sup3r-Secret!\",\"first_name\":\"Jane\",\"last_name\":\"Doe\"}", null);
+		call("POST", "/api/v1/auth/register/keySpring", "{\"email\":\"jane@example.com\",\"password\":\"Sup3r-Secret!\",\"first_name\":\"Jane\",\"last_name\":\"Doe\"}", null);
+		var r = call("POST", "/api/v1/auth/login", "{\"email\":\"jane@example.com\",\"password\":\"Sup3r-Secret!\"}", null);
+		String token = field(r.body(), "token");
+		String refresh = field(r.body(), "refresh_token");
+		call("POST", "/api/v1/auth/login", "{\"email\":\"jane@example.com\",\"password\":\"wrong\"}", null);
+		call("POST", "/api/v1/auth/login", "{\"email\":\"nobody@example.com\",\"password\":\"wrong\"}", null);
+		var r2 = call("POST", "/api/v1/auth/refresh", "{\"refresh_token\":\"" + refresh + "\"}", null);
+		String refresh2 = field(r2.body(), "refresh_token");
+		call("POST", "/api/v1/auth/refresh", "{\"refresh_token\":\"" + refresh + "\"}", null);
+		call("POST", "/api/v1/auth/refresh", "{\"refresh_token\":\"" + refresh2 + "\"}", null);
+		call("POST", "/api/v1/auth/refresh", "{}", null);
+		call("POST", "/api/v1/auth/logout", null, token);
+		call("POST", "/api/v1/auth/logout", null, token);
+		var pool = java.util.concurrent.Executors.newFixedThreadPool(8);
+		var futures = new java.util.ArrayList<java.util.concurrent.Future<Integer>>();
+		for (int i = 0; i < 8; i++) futures.add(pool.submit(() -> call("POST", "/api/v1/auth/register/keySpring", "{\"email\":\"race@example.com\",\"password\":\"Sup3r-Secret!\",\"first_name\":\"R\",\"last_name\":\"C\"}", null).statusCode()));
+		var codes = new java.util.ArrayList<Integer>();
+		for (var f : futures) codes.add(f.get());
+		System.out.println("SMOKE race codes " + codes);
+		pool.shutdown();
+		Extra.run();
+	}
+}
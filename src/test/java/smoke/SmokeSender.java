@@ -0,0 +1,13 @@
+package smoke;
+
+import com.example.keyspring.service.PasswordResetSender;
+import org.springframework.context.annotation.Bean;
+
+class SmokeSender {
+	static volatile String lastToken;
+
+	@Bean
+	PasswordResetSender smokePasswordResetSender() {
+		return (email, token, expiresAt) -> lastToken = token;
+	}
+}
@@ -0,0 +1,17 @@
+package smoke;
+
+import static smoke.SmokeIT.call;
+
+class TimeoutCheck {
+	static void run() throws Exception {
+		for (int i = 0; i < 5; i++) {
+			var r = call("POST", "/api/v1/auth/register/keySpring", "{\"email\":\"t" + i + "@example.com\",\"password\":\"Sup3r-Secret!\",\"first_name\":\"M\",\"last_name\":\"E\"}", null);
+			System.out.println("SMOKE timeout-register " + r.statusCode());
+		}
+		Thread.sleep(2000);
+		try (var c = SmokeIT.ds.getConnection(); var rs = c.createStatement().executeQuery("SELECT count(*) FROM users")) {
+			rs.next();
+			System.out.println("SMOKE timeout-users " + rs.getLong(1));
+		}
+	}
+}